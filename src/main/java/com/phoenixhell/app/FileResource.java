@@ -4,6 +4,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -42,6 +43,10 @@ public final class FileResource {
         return internal ? URI.create(location) : Paths.get(location).toUri();
     }
 
+    public URL getURL() throws IOException {
+        return internal ? anchor.getResource(location) : toPath().toUri().toURL();
+    }
+
     public String getFilename() {
         return Paths.get(location).getFileName().toString();
     }
@@ -2,25 +2,39 @@ package com.phoenixhell.app;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.prefs.Preferences;
 
+import com.phoenixhell.app.StartupPipeline.Phase;
 import com.phoenixhell.app.config.MyControllerFactory;
 import com.phoenixhell.app.event.BrowseEvent;
 import com.phoenixhell.app.event.DefaultEventBus;
+import com.phoenixhell.app.event.DeliveryMode;
 import com.phoenixhell.app.event.DevToolsEvent;
+import com.phoenixhell.app.event.EventBusStats;
+import com.phoenixhell.app.event.EventJournal;
 import com.phoenixhell.app.event.HotkeyEvent;
 import com.phoenixhell.app.event.Listener;
 import com.phoenixhell.app.handler.DefaultExceptionHandler;
+import com.phoenixhell.app.service.system.LocalDirService;
+import com.phoenixhell.app.service.system.TaskService;
 import com.phoenixhell.app.service.system.UserSettingsService;
 import com.phoenixhell.app.service.system.WindowService;
 import com.phoenixhell.app.ui.layout.ApplicationWindow;
+import com.phoenixhell.app.ui.layout.NavigationMetrics;
+import com.phoenixhell.app.ui.theme.StylesheetCache;
 import com.phoenixhell.app.ui.theme.ThemeManager;
 import com.phoenixhell.app.util.I18n;
 import com.phoenixhell.app.util.Resources;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
@@ -44,17 +58,34 @@ public class Launcher extends Application {
     public static final boolean IS_DEV_MODE = "DEV".equalsIgnoreCase(
             Resources.getPropertyOrEnv("atlantafx.mode", "ATLANTAFX_MODE"));
 
+    // set when the window is shown, both showStage() and stop() run on the FX thread
+    private boolean started;
+
     @Override
     public void start(Stage primaryStage) {
         Launcher.stage = primaryStage;
         Thread.currentThread().setUncaughtExceptionHandler(new DefaultExceptionHandler(primaryStage));
-        loadApplicationProperties();
 
-        UserSettingsService.initTheme();
-        updateAppWindowTitle();
+        // Independent phases run concurrently in the background, only the
+        // scene graph is built and attached on the FX thread. The window is
+        // shown when all phases are completed.
+        var pipeline = new StartupPipeline();
+
+        var properties = pipeline.runAsync(Phase.PROPERTIES, this::loadApplicationProperties);
+        var settings = properties.thenCompose(v -> pipeline.runAsync(Phase.SETTINGS, Launcher::preloadSettings));
+        // loads the theme repository and compiles stylesheets to the binary format
+        var themes = properties.thenCompose(v -> pipeline.supplyAsync(Phase.THEMES, () -> {
+            var tm = ThemeManager.getInstance();
+            tm.precompileStylesheets();
+            tm.getRepository().precomputeColors();
+            return tm;
+        }));
+        var icons = properties.thenCompose(v -> pipeline.supplyAsync(Phase.ICONS, Launcher::loadIcons));
 
         // 扫描并注入Controller中的Service、View、Control
-        MyControllerFactory.scan("com.phoenixhell.app.controller");
+        // (views are not attached to the scene yet, so it's safe to build them in the background)
+        var controllers = settings.thenCompose(v -> pipeline.runAsync(Phase.CONTROLLERS,
+                () -> MyControllerFactory.scan("com.phoenixhell.app.controller")));
 
         // MainViewController controller =
         // MyControllerFactory.getBean(MainViewController.class);
@@ -64,11 +95,40 @@ public class Launcher extends Application {
         // MyControllerFactory.getBean(OverviewController.class);
         // Scene scene = new Scene(controller.getView(), 400, 300);
 
-        var root = new ApplicationWindow();
+        // main layer starts animations and timers, so the window is built on
+        // the FX thread, but concurrently with the controllers scan and icons
+        var window = settings.thenCombine(themes, (v, tm) -> tm)
+                .thenCompose(tm -> pipeline.supplyOnFxThread(Phase.WINDOW, () -> {
+                    UserSettingsService.initTheme();
+                    return new ApplicationWindow();
+                }));
+
+        CompletableFuture.allOf(controllers, icons, window)
+                .thenCompose(v -> pipeline.runOnFxThread(Phase.SCENE,
+                        () -> showStage(primaryStage, window.join(), themes.join(), icons.join(), pipeline)))
+                .whenComplete((v, e) -> {
+                    if (e != null) {
+                        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        // the window was never shown, so report the error and quit,
+                        // otherwise the process keeps running without any window
+                        Platform.runLater(() -> {
+                            new DefaultExceptionHandler(null).uncaughtException(Thread.currentThread(),
+                                    new RuntimeException("Application startup failed.", cause));
+                            Platform.exit();
+                        });
+                    }
+                });
+    }
+
+    private void showStage(Stage primaryStage,
+                           ApplicationWindow root,
+                           ThemeManager tm,
+                           List<Image> icons,
+                           StartupPipeline pipeline) {
+        updateAppWindowTitle();
 
         var scene = new Scene(root, ApplicationWindow.MIN_WIDTH + 80, 768);
         scene.setOnKeyPressed(this::dispatchHotkeys);
-        var tm = ThemeManager.getInstance();
         tm.setScene(scene);
         tm.setTheme(tm.getDefaultTheme());
 
@@ -76,14 +136,17 @@ public class Launcher extends Application {
         // scene 原有的所有样式表 然后再添加 theme.getAllStylesheets() 中的那些路径
         // addAll(...) 是在原有基础上追加
         // TODO 具体细节以后分析 总之这个不能少
-        scene.getStylesheets().add(Resources.getResourceStr("/assets/styles/index.css"));
+        var appStylesheet = StylesheetCache.getInstance().get(Resources.getResourceStr("/assets/styles/index.css"));
+        if (!scene.getStylesheets().contains(appStylesheet)) {
+            scene.getStylesheets().add(appStylesheet);
+        }
         scene.getStylesheets().forEach(s -> System.out.println("✅ 成功加载样式: " + s));
 
         // primaryStage.getIcons()
         // .add(new
         // Image(Objects.requireNonNull(Launcher.class.getResourceAsStream("/myapp/icon-64.png"))));
-        loadIcons(primaryStage);
-        stage.setResizable(true);
+        primaryStage.getIcons().setAll(icons);
+        primaryStage.setResizable(true);
         primaryStage.setMinHeight(300);
         primaryStage.setMinWidth(400);
         primaryStage.initStyle(StageStyle.DECORATED);
@@ -91,28 +154,73 @@ public class Launcher extends Application {
         WindowService.setup(primaryStage);
 
         // register event listeners
-        DefaultEventBus.getInstance().subscribe(BrowseEvent.class, this::onBrowseEvent);
+        DefaultEventBus.getInstance().register(this);
         // DefaultEventBus.getInstance().subscribe(DevToolsEvent.class, e ->
         // openDevTools(stage, tm));
 
-        Platform.runLater(() -> {
-            stage.show();
-            stage.requestFocus();
-        });
+        primaryStage.show();
+        primaryStage.requestFocus();
+        started = true;
+        recordFirstFrame(pipeline);
+    }
+
+    private void recordFirstFrame(StartupPipeline pipeline) {
+        long shownAt = System.nanoTime();
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                pipeline.record(Phase.FIRST_FRAME, shownAt, System.nanoTime());
+                if (Boolean.getBoolean("app.startup-timings.log")) {
+                    System.out.println(pipeline.toSummary());
+                }
+            }
+        }.start();
+    }
+
+    @Override
+    public void stop() {
+        // startup failed, the settings and themes may be incomplete or not loaded at all,
+        // so only the background tasks of the completed phases are stopped
+        if (!started) {
+            TaskService.getInstance().shutdown();
+            return;
+        }
+
+        // settings and themes are saved in the background with a delay, write the last changes now
+        UserSettingsService.saveSettings();
+        ThemeManager.getInstance().getRepository().flush();
+        ThemeManager.getInstance().getRepository().stopWatching();
+        if (Boolean.getBoolean("app.navigation-metrics.dump")) {
+            dumpNavigationMetrics();
+        }
+        if (DefaultEventBus.getInstance().getStats() != null) {
+            dumpEventBusStats(DefaultEventBus.getInstance().getStats());
+        }
+        // last, nothing is submitted after this point
+        TaskService.getInstance().shutdown();
     }
 
     public static void main(String[] args) {
         launch(args);
     }
 
-    private void loadIcons(Stage stage) {
+    // images are decoded in the calling thread, hence it's better to avoid the FX thread
+    private static List<Image> loadIcons() {
+        var icons = new ArrayList<Image>();
         int iconSize = 16;
         while (iconSize <= 1024) {
             // we could use the square icons for Windows here
-            stage.getIcons()
-                    .add(new Image(Resources.getResourceAsStream("assets/images/icon-rounded-" + iconSize + ".png")));
+            icons.add(new Image(Resources.getResourceAsStream("assets/images/icon-rounded-" + iconSize + ".png")));
             iconSize *= 2;
         }
+        return icons;
+    }
+
+    // the first access reads settings file, locale and resource bundle
+    private static void preloadSettings() {
+        UserSettingsService.getTheme();
+        I18n.get("name");
     }
 
     private void loadApplicationProperties() {
@@ -126,6 +234,38 @@ public class Launcher extends Application {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+
+        int journalSize = Integer.getInteger("app.event-journal.size", 0);
+        if (journalSize > 0) {
+            DefaultEventBus.getInstance().setJournal(new EventJournal(journalSize));
+        }
+
+        if (Boolean.getBoolean("app.event-bus.stats")) {
+            DefaultEventBus.getInstance().setStats(new EventBusStats(
+                    Integer.getInteger("app.event-bus.slow-subscriber-ms", 0), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void dumpNavigationMetrics() {
+        try {
+            var file = Paths.get(LocalDirService.getUserDataDirPath(), "navigation-metrics.csv");
+            NavigationMetrics.getInstance().writeCsv(file);
+            System.out.println("Navigation metrics saved to " + file);
+        } catch (IOException e) {
+            System.err.println("[WARNING] Unable to save navigation metrics.");
+            e.printStackTrace();
+        }
+    }
+
+    private void dumpEventBusStats(EventBusStats stats) {
+        try {
+            var file = Paths.get(LocalDirService.getUserDataDirPath(), "event-bus-stats.csv");
+            stats.writeCsv(file);
+            System.out.println("Event bus statistics saved to " + file);
+        } catch (IOException e) {
+            System.err.println("[WARNING] Unable to save event bus statistics.");
+            e.printStackTrace();
+        }
     }
 
     private void dispatchHotkeys(KeyEvent event) {
@@ -146,6 +286,15 @@ public class Launcher extends Application {
         getHostServices().showDocument(event.getUri().toString());
     }
 
+    // saves the statistics collected so far, without waiting for the app exit
+    @Listener(mode = DeliveryMode.BACKGROUND)
+    private void onDevToolsEvent(DevToolsEvent event) {
+        var stats = DefaultEventBus.getInstance().getStats();
+        if (stats != null) {
+            dumpEventBusStats(stats);
+        }
+    }
+
     // @Listener
     // private void openDevTools(Stage primaryStage, ThemeManager tm) {
     // var prefs = new Preferences(getHostServices());
@@ -0,0 +1,106 @@
+package com.phoenixhell.app;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.phoenixhell.app.service.system.TaskService;
+
+import javafx.application.Platform;
+
+/**
+ * Runs the application startup phases.
+ *
+ * <p>
+ * Phases that don't touch the scene graph run concurrently on virtual threads
+ * of the {@link TaskService}, since they mostly wait for IO or for each other,
+ * phases that do are posted to the FX thread. Dependencies
+ * between phases are expressed by chaining the returned futures. Every phase
+ * duration is recorded, see {@link #getTimings()}.
+ */
+final class StartupPipeline {
+
+    enum Phase {
+        PROPERTIES,
+        SETTINGS,
+        THEMES,
+        CONTROLLERS,
+        ICONS,
+        WINDOW,
+        SCENE,
+        FIRST_FRAME
+    }
+
+    private final long startedAt = System.nanoTime();
+    private final Map<Phase, Timing> timings = new EnumMap<>(Phase.class);
+    private final Executor executor = TaskService.getInstance()::execute;
+
+    public CompletableFuture<Void> runAsync(Phase phase, Runnable action) {
+        Objects.requireNonNull(action, "action");
+        return supplyAsync(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Phase phase, Supplier<T> action) {
+        Objects.requireNonNull(action, "action");
+        return CompletableFuture.supplyAsync(timed(phase, action), executor);
+    }
+
+    public CompletableFuture<Void> runOnFxThread(Phase phase, Runnable action) {
+        Objects.requireNonNull(action, "action");
+        return supplyOnFxThread(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> supplyOnFxThread(Phase phase, Supplier<T> action) {
+        Objects.requireNonNull(action, "action");
+        return CompletableFuture.supplyAsync(timed(phase, action), Platform::runLater);
+    }
+
+    /**
+     * Records a phase that was measured outside the pipeline, e.g. the first frame.
+     */
+    public synchronized void record(Phase phase, long startNanos, long endNanos) {
+        timings.put(phase, new Timing(startNanos - startedAt, endNanos - startNanos));
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public synchronized Map<Phase, Timing> getTimings() {
+        return new EnumMap<>(timings);
+    }
+
+    public String toSummary() {
+        var sb = new StringBuilder("Startup timings (offset / duration, ms):");
+        getTimings().forEach((phase, timing) -> sb.append(String.format(Locale.ROOT, "%n  %-12s %8.1f %8.1f",
+                phase.name(), timing.offsetNanos() / 1_000_000.0, timing.durationNanos() / 1_000_000.0)));
+        return sb.toString();
+    }
+
+    private <T> Supplier<T> timed(Phase phase, Supplier<T> action) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                record(phase, start, System.nanoTime());
+            }
+        };
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    // offset is measured from the pipeline creation
+    record Timing(long offsetNanos, long durationNanos) {
+    }
+}
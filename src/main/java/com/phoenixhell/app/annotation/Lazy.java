@@ -0,0 +1,12 @@
+package com.phoenixhell.app.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 标记延迟创建的 Service（类似 Spring 的 @Lazy）。
+ * 扫描时不会预先创建，在第一次注入或通过 getBean() 获取时才创建。
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Lazy {
+}
@@ -0,0 +1,17 @@
+package com.phoenixhell.app.config;
+
+import java.util.List;
+
+/**
+ * 编译期生成的组件索引。
+ *
+ * 由 {@code ComponentIndexProcessor} 在编译时生成实现类 {@link #GENERATED_CLASS_NAME}，
+ * 其中记录了所有可实例化的 ViewAware 类及其 @View、@Service、@Control 字段和 @PostConstruct 方法，
+ * 使 {@link MyControllerFactory} 启动时无需扫描 classpath。
+ */
+public interface ComponentIndex {
+
+    String GENERATED_CLASS_NAME = "com.phoenixhell.app.config.GeneratedComponentIndex";
+
+    List<ComponentMetadata> getComponents();
+}
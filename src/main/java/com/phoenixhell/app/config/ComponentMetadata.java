@@ -0,0 +1,86 @@
+package com.phoenixhell.app.config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.phoenixhell.app.annotation.Control;
+import com.phoenixhell.app.annotation.PostConstruct;
+import com.phoenixhell.app.annotation.Service;
+import com.phoenixhell.app.annotation.View;
+
+/**
+ * 组件的注入元数据：需要注入的字段名以及初始化方法名。
+ *
+ * 只包含类自身声明的字段和方法（与 getDeclaredFields() 一致），字段按源码顺序排列。
+ *
+ * @param className     组件类的全限定名
+ * @param viewFields    标注了 @View 的字段名
+ * @param serviceFields 标注了 @Service 的字段名
+ * @param controlFields 标注了 @Control 的字段
+ * @param initMethods   标注了 @PostConstruct 的无参方法名
+ */
+public record ComponentMetadata(String className,
+                                List<String> viewFields,
+                                List<String> serviceFields,
+                                List<ControlField> controlFields,
+                                List<String> initMethods) {
+
+    public ComponentMetadata {
+        Objects.requireNonNull(className, "className");
+        viewFields = List.copyOf(viewFields);
+        serviceFields = List.copyOf(serviceFields);
+        controlFields = List.copyOf(controlFields);
+        initMethods = List.copyOf(initMethods);
+    }
+
+    public boolean isInPackage(String basePackage) {
+        return className.startsWith(basePackage + ".");
+    }
+
+    /**
+     * 通过反射读取元数据，用于没有编译期索引的类（例如开发模式下的扫描）。
+     */
+    public static ComponentMetadata fromClass(Class<?> clazz) {
+        Objects.requireNonNull(clazz, "clazz");
+
+        var views = new ArrayList<String>();
+        var services = new ArrayList<String>();
+        var controls = new ArrayList<ControlField>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isAnnotationPresent(View.class)) {
+                views.add(field.getName());
+            }
+            if (field.isAnnotationPresent(Service.class)) {
+                services.add(field.getName());
+            }
+            Control control = field.getAnnotation(Control.class);
+            if (control != null) {
+                controls.add(new ControlField(field.getName(), control.value().trim()));
+            }
+        }
+
+        var initMethods = new ArrayList<String>();
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(PostConstruct.class) && method.getParameterCount() == 0) {
+                initMethods.add(method.getName());
+            }
+        }
+
+        return new ComponentMetadata(clazz.getName(), views, services, controls, initMethods);
+    }
+
+    /**
+     * @param name 字段名
+     * @param id   {@code @Control} 指定的控件 id，未指定时为空字符串
+     */
+    public record ControlField(String name, String id) {
+
+        public ControlField {
+            Objects.requireNonNull(name, "name");
+            Objects.requireNonNull(id, "id");
+        }
+    }
+}
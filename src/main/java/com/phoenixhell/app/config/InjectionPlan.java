@@ -0,0 +1,275 @@
+package com.phoenixhell.app.config;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.phoenixhell.app.annotation.Lazy;
+import com.phoenixhell.app.config.ComponentMetadata.ControlField;
+import com.phoenixhell.app.contract.ViewAware;
+
+import javafx.scene.Node;
+
+/**
+ * 某个类的注入计划。
+ *
+ * 每个类只在第一次使用时通过反射解析一次（见 {@link MyControllerFactory}），
+ * 之后的实例化、字段注入和初始化方法调用都通过缓存的 {@link MethodHandle} 完成，
+ * 不再调用 getDeclaredFields()、setAccessible() 等反射方法。
+ *
+ * 注入计划是不可变的，可以在任意线程中使用。
+ */
+final class InjectionPlan {
+
+    private static final MethodType CONSTRUCTOR_TYPE = methodType(Object.class);
+    private static final MethodType SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = methodType(Object.class, Object.class);
+    private static final MethodType INIT_TYPE = methodType(void.class, Object.class);
+
+    private final Class<?> type;
+    private final MethodHandle constructor; // 没有无参构造方法时为 null
+    private final List<FieldHandle> viewFields;
+    private final List<FieldHandle> serviceFields;
+    private final List<ControlHandle> controlFields;
+    private final List<InitMethod> initMethods;
+    private final boolean lazy;
+    private final boolean viewAware;
+
+    private InjectionPlan(Class<?> type,
+                          MethodHandle constructor,
+                          List<FieldHandle> viewFields,
+                          List<FieldHandle> serviceFields,
+                          List<ControlHandle> controlFields,
+                          List<InitMethod> initMethods) {
+        this.type = type;
+        this.constructor = constructor;
+        this.viewFields = List.copyOf(viewFields);
+        this.serviceFields = List.copyOf(serviceFields);
+        this.controlFields = List.copyOf(controlFields);
+        this.initMethods = List.copyOf(initMethods);
+        this.lazy = type.isAnnotationPresent(Lazy.class);
+        this.viewAware = ViewAware.class.isAssignableFrom(type) || !viewFields.isEmpty() || !controlFields.isEmpty();
+    }
+
+    /**
+     * 根据注入元数据解析出注入计划
+     *
+     * @param type     目标类
+     * @param metadata 目标类的注入元数据
+     * @return 注入计划
+     */
+    static InjectionPlan create(Class<?> type, ComponentMetadata metadata) {
+        MethodHandles.Lookup lookup = lookupFor(type);
+
+        try {
+            MethodHandle constructor = null;
+            try {
+                constructor = lookup.findConstructor(type, methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // 只有需要实例化时才报错，例如 Controller 中引用的类可能只作为字段类型使用
+            }
+
+            var views = new ArrayList<FieldHandle>();
+            for (String name : metadata.viewFields()) {
+                views.add(FieldHandle.of(lookup, type.getDeclaredField(name)));
+            }
+
+            var services = new ArrayList<FieldHandle>();
+            for (String name : metadata.serviceFields()) {
+                services.add(FieldHandle.of(lookup, type.getDeclaredField(name)));
+            }
+
+            var controls = new ArrayList<ControlHandle>();
+            for (ControlField control : metadata.controlFields()) {
+                controls.add(ControlHandle.of(lookup, type.getDeclaredField(control.name()), control.id()));
+            }
+
+            var initMethods = new ArrayList<InitMethod>();
+            for (String name : metadata.initMethods()) {
+                Method method = type.getDeclaredMethod(name);
+                initMethods.add(new InitMethod(name, lookup.unreflect(method).asType(INIT_TYPE)));
+            }
+
+            // 如果没有使用 @PostConstruct 注解，则尝试调用 initialize()（public 方法，包括继承的默认方法）
+            if (initMethods.isEmpty()) {
+                try {
+                    Method method = type.getMethod("initialize");
+                    initMethods.add(new InitMethod(method.getName(), lookup.unreflect(method).asType(INIT_TYPE)));
+                } catch (NoSuchMethodException e) {
+                    // 忽略，表示未定义 initialize 方法
+                }
+            }
+
+            return new InjectionPlan(type, constructor, views, services, controls, initMethods);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("解析注入计划失败：" + type.getName(), e);
+        }
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Object newInstance() throws Exception {
+        if (constructor == null) {
+            throw new NoSuchMethodException("找不到无参构造方法：" + type.getName());
+        }
+
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public List<FieldHandle> getViewFields() {
+        return viewFields;
+    }
+
+    public List<FieldHandle> getServiceFields() {
+        return serviceFields;
+    }
+
+    public List<ControlHandle> getControlFields() {
+        return controlFields;
+    }
+
+    public List<InitMethod> getInitMethods() {
+        return initMethods;
+    }
+
+    /**
+     * 是否标注了 {@link Lazy}，只在第一次使用时创建
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * 是否会访问视图（Controller 或注入了 @View、@Control 的类），
+     * 这类实例的初始化方法必须在 FX 线程中调用
+     */
+    public boolean isViewAware() {
+        return viewAware;
+    }
+
+    // 同一模块中的类可以获得完整访问权限，其他模块的类只能访问 public 成员
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    private static Exception rethrow(Throwable t) {
+        if (t instanceof Error error) {
+            throw error;
+        }
+        return t instanceof Exception e ? e : new RuntimeException(t);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * 字段的 getter/setter 句柄
+     */
+    record FieldHandle(String name, Class<?> type, MethodHandle getter, MethodHandle setter) {
+
+        static FieldHandle of(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+            return new FieldHandle(
+                    field.getName(),
+                    field.getType(),
+                    lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                    lookup.unreflectSetter(field).asType(SETTER_TYPE));
+        }
+
+        public Object get(Object target) throws Exception {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        public void set(Object target, Object value) throws Exception {
+            try {
+                setter.invokeExact(target, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    /**
+     * {@code @Control} 字段的注入方式
+     */
+    enum ControlKind {
+        SINGLE, // 单个控件
+        LIST,   // List<T>，按类型查找
+        MAP     // Map<String, T>，按 id 查找
+    }
+
+    /**
+     * {@code @Control} 字段
+     *
+     * @param field       字段句柄
+     * @param id          控件 id，未指定时为空字符串
+     * @param kind        注入方式
+     * @param elementType 单个控件为字段类型，List 为元素类型，Map 为值类型
+     */
+    record ControlHandle(FieldHandle field, String id, ControlKind kind, Class<?> elementType) {
+
+        static ControlHandle of(MethodHandles.Lookup lookup, Field field, String id) throws IllegalAccessException {
+            var handle = FieldHandle.of(lookup, field);
+            Class<?> fieldType = field.getType();
+
+            if (List.class.isAssignableFrom(fieldType)) {
+                Class<?> genericType = getTypeArgument(field, 0);
+                if (!Node.class.isAssignableFrom(genericType)) {
+                    throw new RuntimeException("List 的泛型必须是 JavaFX Node 类型: " + field.getName());
+                }
+                return new ControlHandle(handle, id, ControlKind.LIST, genericType);
+            }
+
+            if (Map.class.isAssignableFrom(fieldType)) {
+                Class<?> valueType = getTypeArgument(field, 1);
+                if (!Node.class.isAssignableFrom(valueType)) {
+                    throw new RuntimeException("Map 的值类型必须是 JavaFX Node 类型: " + field.getName());
+                }
+                return new ControlHandle(handle, id, ControlKind.MAP, valueType);
+            }
+
+            return new ControlHandle(handle, id, ControlKind.SINGLE, fieldType);
+        }
+
+        /**
+         * 获取 List<T> 字段的 T 类型，或 Map<String, T> 字段中 T 的类型。
+         */
+        private static Class<?> getTypeArgument(Field field, int index) {
+            return (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[index];
+        }
+    }
+
+    /**
+     * 初始化方法（@PostConstruct 或 initialize()）
+     */
+    record InitMethod(String name, MethodHandle handle) {
+
+        public void invoke(Object target) throws Exception {
+            try {
+                handle.invokeExact(target);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+}
@@ -1,26 +1,34 @@
 package com.phoenixhell.app.config;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.reflections.Reflections;
 
-import com.phoenixhell.app.annotation.Control;
-import com.phoenixhell.app.annotation.Service;
-import com.phoenixhell.app.annotation.View;
+import com.phoenixhell.app.Launcher;
+import com.phoenixhell.app.config.InjectionPlan.ControlHandle;
+import com.phoenixhell.app.config.InjectionPlan.FieldHandle;
+import com.phoenixhell.app.config.InjectionPlan.InitMethod;
 import com.phoenixhell.app.contract.Translatable;
 import com.phoenixhell.app.contract.ViewAware;
+import com.phoenixhell.app.service.system.TaskService;
 
+import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 
@@ -40,6 +48,14 @@ import javafx.scene.Parent;
  * - @Control：在 @View 注入的视图中查找对应控件并注入。
  * 支持通过控件 id 精准注入，否则必须视图中唯一匹配对应类型，否则报错。
  *
+ * 线程安全：
+ * - 所有缓存都是并发容器，每个 Bean、View 保证只创建一次。
+ * - 扫描时根据 @Service 依赖图在后台线程中并发创建互不依赖的 Service，
+ * 标注了 @Lazy 的 Service 在第一次使用时才创建。
+ * - 只有会访问视图的初始化方法（Controller 的 @PostConstruct/initialize()）在 FX 线程中调用。
+ * - 每个类的注入计划（构造方法、字段、初始化方法的 MethodHandle）只解析一次，
+ * 之后创建实例不再使用反射。
+ *
  * 设计目标：
  * - 简单、直观、易用。
  * - 支持基本的 Controller-Service-View 模式。
@@ -51,16 +67,39 @@ public class MyControllerFactory {
      * Bean 缓存，存储 Controller 和 Service 的单例实例
      * key: 类对象，value: 该类的单例实例
      */
-    private static final Map<Class<?>, Object> beanCache = new HashMap<>();
+    private static final Map<Class<?>, Singleton<Object>> beanCache = new ConcurrentHashMap<>();
 
     /**
      * View 缓存，存储 View 根节点实例（例如 VBox、AnchorPane 等）
      * key: View 类对象，value: View 根节点实例
      */
-    private static final Map<Class<? extends Parent>, Parent> viewCache = new HashMap<>();
+    private static final Map<Class<? extends Parent>, Singleton<Parent>> viewCache = new ConcurrentHashMap<>();
+
+    /**
+     * 组件元数据缓存，来自编译期索引或反射
+     * key: 类名，value: 注入元数据
+     */
+    private static final Map<String, ComponentMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    /**
+     * 并发创建 Bean 的后台线程池，使用 TaskService 的平台线程池，
+     * Bean 创建时会在 synchronized 中等待，不适合虚拟线程
+     */
+    private static final Executor executor = TaskService.getInstance()::compute;
+
+    /**
+     * 注入计划缓存，每个类只解析一次
+     */
+    private static final ClassValue<InjectionPlan> injectionPlans = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return InjectionPlan.create(type, getMetadata(type));
+        }
+    };
 
     public static List<Translatable> getControllers() {
         return beanCache.values().stream()
+                .map(Singleton::get)
                 .filter(Objects::nonNull)
                 .filter(c -> c instanceof Translatable)
                 .map(c -> (Translatable) c)
@@ -75,6 +114,103 @@ public class MyControllerFactory {
      * @throws Exception 扫描或注入过程中可能抛出的异常
      */
     public static void scan(String basePackage) {
+        List<Class<?>> components = new ArrayList<>();
+        for (ComponentMetadata metadata : findComponents(basePackage)) {
+            try {
+                components.add(Class.forName(metadata.className()));
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException("组件索引已过期，找不到类：" + metadata.className(), e);
+            }
+        }
+
+        // 1. 按依赖图调度 Service 的创建，互不依赖的 Service 并发创建
+        Map<Class<?>, CompletableFuture<?>> services = new HashMap<>();
+        Map<Class<?>, CompletableFuture<Object>> controllers = new LinkedHashMap<>();
+        for (Class<?> clazz : components) {
+            InjectionPlan plan = injectionPlans.get(clazz);
+            CompletableFuture<?>[] dependencies = plan.getServiceFields().stream()
+                    .map(field -> scheduleService(field.type(), services, new HashSet<>()))
+                    .toArray(CompletableFuture[]::new);
+
+            // 2. 依赖就绪后创建 Controller 并注入视图和控件，视图尚未添加到场景中，可以在后台线程中创建
+            controllers.put(clazz, CompletableFuture.allOf(dependencies).thenApplyAsync(v -> {
+                // 创建 Controller 实例（或从缓存获取）
+                Object controller = createBean(clazz);
+                try {
+                    // 注入 Controller 中的 @View 标记字段（视图根节点）
+                    injectViews(controller, plan);
+                    // 注入 Controller 中的 @Control 标记字段（具体控件）
+                    injectControls(controller, plan);
+                } catch (Exception e) {
+                    throw new RuntimeException("注入 Controller 失败：" + clazz.getName(), e);
+                }
+                return controller;
+            }, executor));
+        }
+
+        await(CompletableFuture.allOf(controllers.values().toArray(CompletableFuture[]::new)));
+
+        // 3. 注入完毕后，调用初始化方法（initialize() 或 @PostConstruct），
+        // 初始化方法会访问视图，在 FX 线程中按扫描顺序调用
+        runOnFxThread(() -> controllers.forEach((clazz, controller) ->
+                invokeInitMethods(controller.join(), injectionPlans.get(clazz))));
+    }
+
+    /**
+     * 调度某个 Service 的创建：先调度它依赖的 Service，全部完成后在后台线程中创建
+     *
+     * @param type     Service 类型
+     * @param futures  已调度的 Service
+     * @param visiting 当前依赖路径上的 Service，用于检测循环依赖
+     * @return 创建完成的 Future，@Lazy Service 不会预先创建，返回已完成的 Future
+     */
+    private static CompletableFuture<?> scheduleService(Class<?> type,
+                                                        Map<Class<?>, CompletableFuture<?>> futures,
+                                                        Set<Class<?>> visiting) {
+        CompletableFuture<?> existing = futures.get(type);
+        if (existing != null) {
+            return existing;
+        }
+
+        InjectionPlan plan = injectionPlans.get(type);
+        if (plan.isLazy()) {
+            // 延迟创建，第一次使用时创建
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (!visiting.add(type)) {
+            throw new RuntimeException("检测到循环依赖：" + type.getName());
+        }
+
+        CompletableFuture<?>[] dependencies = plan.getServiceFields().stream()
+                .map(field -> scheduleService(field.type(), futures, visiting))
+                .toArray(CompletableFuture[]::new);
+        visiting.remove(type);
+
+        CompletableFuture<?> future = CompletableFuture.allOf(dependencies)
+                .thenApplyAsync(v -> createBean(type), executor);
+        futures.put(type, future);
+        return future;
+    }
+
+    /**
+     * 查找指定包下的所有组件
+     * - 优先使用编译期生成的组件索引（无需扫描）
+     * - 开发模式或索引不存在时，退回到 Reflections 扫描
+     *
+     * @param basePackage 要扫描的包名
+     * @return 组件元数据列表
+     */
+    private static List<ComponentMetadata> findComponents(String basePackage) {
+        ComponentIndex index = Launcher.IS_DEV_MODE ? null : loadComponentIndex();
+        if (index != null) {
+            List<ComponentMetadata> components = index.getComponents().stream()
+                    .filter(c -> c.isInPackage(basePackage))
+                    .toList();
+            components.forEach(c -> metadataCache.put(c.className(), c));
+            return components;
+        }
+
         // 使用 Reflections 库扫描指定包下的所有类
         Reflections reflections = new Reflections(basePackage);
 
@@ -84,28 +220,45 @@ public class MyControllerFactory {
 
         Set<Class<? extends ViewAware>> viewAwareClasses = reflections.getSubTypesOf(ViewAware.class);
 
-        // 遍历所有类，找出类名包含 Controller 的类进行处理
+        List<ComponentMetadata> components = new ArrayList<>();
         for (Class<?> clazz : viewAwareClasses) {
             if (ViewAware.class.isAssignableFrom(clazz) && !Modifier.isAbstract(clazz.getModifiers())) {
-                // 创建 Controller 实例（或从缓存获取）
-                Object controller = createBean(clazz);
-                try {
-                    // 注入 Controller 中的 @View 标记字段（视图根节点）
-                    injectViews(controller);
-                    // 注入 Controller 中的 @Control 标记字段（具体控件）
-                    injectControls(controller);
-                    // 注入完毕后，调用初始化方法（initialize() 或 @PostConstruct）
-                    invokeInitMethods(controller);
-                } catch (Exception e) {
-                    throw new RuntimeException("注入 Controller 失败：" + clazz.getName(), e);
-                }
+                components.add(getMetadata(clazz));
             }
         }
+        return components;
+    }
+
+    /**
+     * 加载编译期生成的组件索引
+     *
+     * @return 组件索引，不存在时返回 null（例如 IDE 编译时未启用注解处理器）
+     */
+    private static ComponentIndex loadComponentIndex() {
+        try {
+            Class<?> indexClass = Class.forName(ComponentIndex.GENERATED_CLASS_NAME);
+            return (ComponentIndex) indexClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            System.err.println("[WARNING] Component index not found, falling back to classpath scanning.");
+            return null;
+        } catch (Exception e) {
+            throw new RuntimeException("加载组件索引失败：" + ComponentIndex.GENERATED_CLASS_NAME, e);
+        }
+    }
+
+    /**
+     * 获取类的注入元数据，索引中没有的类（例如 Service）通过反射读取并缓存
+     *
+     * @param clazz 目标类
+     * @return 注入元数据
+     */
+    private static ComponentMetadata getMetadata(Class<?> clazz) {
+        return metadataCache.computeIfAbsent(clazz.getName(), k -> ComponentMetadata.fromClass(clazz));
     }
 
     /**
      * 创建某个类的实例（支持 Controller 和 Service）
-     * 并缓存到 beanCache 避免重复创建
+     * 并缓存到 beanCache 避免重复创建，并发调用时也只会创建一次
      *
      * @param clazz 目标类类型
      * @param <T>   泛型类型
@@ -114,19 +267,24 @@ public class MyControllerFactory {
      */
     public static <T> T createBean(Class<T> clazz) {
         try {
-            // 如果已缓存，直接返回
-            if (beanCache.containsKey(clazz)) {
-                return clazz.cast(beanCache.get(clazz));
-            }
+            Object bean = beanCache.computeIfAbsent(clazz, k -> new Singleton<>()).getOrCreate(() -> {
+                InjectionPlan plan = injectionPlans.get(clazz);
 
-            // 新建实例
-            T instance = clazz.getDeclaredConstructor().newInstance();
-            beanCache.put(clazz, instance);
+                // 新建实例
+                Object instance = plan.newInstance();
 
-            // 递归注入该实例的 @Service 字段
-            injectServices(instance);
+                // 递归注入该实例的 @Service 字段
+                injectServices(instance, plan);
 
-            return instance;
+                // Service 的初始化方法（例如加载数据）不访问视图，直接在当前线程中调用，
+                // Controller 的初始化方法在注入视图和控件之后由 scan() 调用
+                if (!plan.isViewAware()) {
+                    invokeInitMethods(instance, plan);
+                }
+
+                return instance;
+            });
+            return clazz.cast(bean);
         } catch (Exception e) {
             throw new RuntimeException("创建 Bean 失败：" + clazz.getName(), e);
         }
@@ -134,31 +292,24 @@ public class MyControllerFactory {
 
     /**
      * 注入标注了 @Service 的字段
-     * - 遍历实例的字段，找到所有 @Service 标注
+     * - 根据注入计划找到所有 @Service 标注的字段
      * - 为每个字段创建或获取对应的服务实例
      * - 注入到字段中
      *
      * @param instance 需要注入的实例对象
-     * @throws IllegalAccessException 反射设置字段值时可能抛出
+     * @param plan     实例的注入计划
+     * @throws Exception 设置字段值时可能抛出
      */
-    private static void injectServices(Object instance) throws IllegalAccessException {
-        Class<?> clazz = instance.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (!field.isAnnotationPresent(Service.class))
-                continue;
-
-            Class<?> type = field.getType();
-            field.setAccessible(true);
+    private static void injectServices(Object instance, InjectionPlan plan) throws Exception {
+        for (FieldHandle field : plan.getServiceFields()) {
+            Class<?> type = field.type();
 
             // 从缓存中获取 Service 实例，如果没有就创建
-            Object serviceInstance = beanCache.get(type);
-            if (serviceInstance == null) {
-                try {
-                    serviceInstance = type.getDeclaredConstructor().newInstance();
-                    beanCache.put(type, serviceInstance);
-                } catch (Exception e) {
-                    throw new RuntimeException("创建 Service 失败：" + type.getName(), e);
-                }
+            Object serviceInstance;
+            try {
+                serviceInstance = createBean(type);
+            } catch (Exception e) {
+                throw new RuntimeException("创建 Service 失败：" + type.getName(), e);
             }
 
             // 注入到字段
@@ -173,31 +324,27 @@ public class MyControllerFactory {
      * - 注入到 Controller 的字段
      *
      * @param controller Controller 实例
-     * @throws IllegalAccessException 反射设置字段值时可能抛出
+     * @param plan       Controller 的注入计划
+     * @throws Exception 设置字段值时可能抛出
      */
-    private static void injectViews(Object controller) throws IllegalAccessException {
-        Class<?> clazz = controller.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (!field.isAnnotationPresent(View.class))
-                continue;
-
-            Class<? extends Parent> viewClass = (Class<? extends Parent>) field.getType();
+    @SuppressWarnings("unchecked")
+    private static void injectViews(Object controller, InjectionPlan plan) throws Exception {
+        for (FieldHandle field : plan.getViewFields()) {
+            // 类型安全检查
+            if (!Parent.class.isAssignableFrom(field.type())) {
+                throw new RuntimeException("字段类型不兼容：" + Parent.class + " <- " + field.type());
+            }
+            Class<? extends Parent> viewClass = (Class<? extends Parent>) field.type();
 
             // 获取或创建视图实例
-            Parent viewInstance = viewCache.computeIfAbsent(viewClass, (vc) -> {
-                try {
-                    return vc.getDeclaredConstructor().newInstance();
-                } catch (Exception e) {
-                    throw new RuntimeException("创建 View 实例失败: " + vc.getName(), e);
-                }
-            });
-
-            // 类型安全检查
-            if (!field.getType().isAssignableFrom(viewClass)) {
-                throw new RuntimeException("字段类型不兼容：" + field.getType() + " <- " + viewClass);
+            Parent viewInstance;
+            try {
+                viewInstance = viewCache.computeIfAbsent(viewClass, k -> new Singleton<>())
+                        .getOrCreate(() -> (Parent) injectionPlans.get(viewClass).newInstance());
+            } catch (Exception e) {
+                throw new RuntimeException("创建 View 实例失败: " + viewClass.getName(), e);
             }
 
-            field.setAccessible(true);
             field.set(controller, viewInstance);
         }
     }
@@ -236,7 +383,7 @@ public class MyControllerFactory {
      *
      * 控件的查找顺序如下（仅适用于单个控件注入）：
      * <ol>
-     * <li>若 {@code @Control("id")} 指定 id，则直接通过 {@code lookup("#id")} 查找</li>
+     * <li>若 {@code @Control("id")} 指定 id，则直接按 id 查找</li>
      * <li>若未指定 id，则尝试使用字段名作为控件 id 查找</li>
      * <li>若仍未找到，则在视图中查找唯一匹配字段类型的控件</li>
      * </ol>
@@ -250,85 +397,60 @@ public class MyControllerFactory {
      * </ul>
      *
      * @param controller Controller 实例对象
+     * @param plan       Controller 的注入计划
      * @throws Exception 控件查找失败或类型不匹配时抛出
      */
-    private static void injectControls(Object controller) throws Exception {
-        Class<?> clazz = controller.getClass();
+    private static void injectControls(Object controller, InjectionPlan plan) throws Exception {
+        if (plan.getControlFields().isEmpty()) {
+            return;
+        }
 
-        for (Field field : clazz.getDeclaredFields()) {
-            Control controlAnno = field.getAnnotation(Control.class);
-            if (controlAnno == null)
-                continue;
+        // 每个视图只遍历一次，之后所有字段都从索引中查找
+        List<NodeIndex> views = new ArrayList<>();
+        for (Parent view : getViewsFromController(controller, plan)) {
+            views.add(new NodeIndex(view));
+        }
 
-            field.setAccessible(true);
-            String id = controlAnno.value().trim(); // 控件 ID（可选）
-            Class<?> fieldType = field.getType();
+        for (ControlHandle control : plan.getControlFields()) {
+            FieldHandle field = control.field();
+            String id = control.id(); // 控件 ID（可选）
+            Class<?> fieldType = field.type();
 
             // ========= 1. 处理 List<T> 类型 =========
-            if (List.class.isAssignableFrom(fieldType)) {
-                Class<?> genericType = getGenericType(field);
-                if (!Node.class.isAssignableFrom(genericType)) {
-                    throw new RuntimeException("List 的泛型必须是 JavaFX Node 类型: " + field.getName());
-                }
-
-                List<Node> collected = new ArrayList<>();
-                for (Parent view : getViewsFromController(controller)) {
-                    Set<Node> matches = view.lookupAll("*").stream()
-                            .filter(genericType::isInstance)
-                            .map(genericType::cast)
-                            .map(n -> (Node) n)
-                            .collect(Collectors.toSet());
-                    collected.addAll(matches);
-                }
+            if (control.kind() == InjectionPlan.ControlKind.LIST) {
+                Class<?> genericType = control.elementType();
 
-                field.set(controller, collected);
+                field.set(controller, findAll(views, genericType));
                 continue;
             }
 
             // ========= 2. 处理 Map<String, T> 类型 =========
-            if (Map.class.isAssignableFrom(fieldType)) {
-                Class<?> valueType = getMapValueType(field);
-                if (!Node.class.isAssignableFrom(valueType)) {
-                    throw new RuntimeException("Map 的值类型必须是 JavaFX Node 类型: " + field.getName());
-                }
-
-                Map<String, Node> resultMap = new HashMap<>();
-                for (Parent view : getViewsFromController(controller)) {
-                    collectAllNodes(view).forEach(node -> {
-                        String nodeId = node.getId();
-                        if (nodeId != null && valueType.isInstance(node)) {
-                            resultMap.put(nodeId, node);
-                        }
-                    });
-                }
+            if (control.kind() == InjectionPlan.ControlKind.MAP) {
+                Class<?> valueType = control.elementType();
 
-                field.set(controller, resultMap);
+                field.set(controller, findAllById(views, valueType));
                 continue;
             }
 
             // ========= 3. 注入单个控件（普通字段） =========
             Node injectedNode = null;
 
-            for (Parent view : getViewsFromController(controller)) {
+            for (NodeIndex view : views) {
                 if (!id.isEmpty()) {
                     // 优先使用注解中指定的 id 查找
-                    injectedNode = (Node) view.lookup("#" + id);
+                    injectedNode = view.findById(id);
                 } else {
                     // 尝试使用字段名作为 id 查找
-                    injectedNode = (Node) view.lookup("#" + field.getName());
+                    injectedNode = view.findById(field.name());
 
                     if (injectedNode == null) {
                         // 最后按类型唯一匹配
-                        Set<Node> candidates = view.lookupAll("*").stream()
-                                .filter(fieldType::isInstance)
-                                .map(fieldType::cast)
-                                .map(n -> (Node) n)
-                                .collect(Collectors.toSet());
+                        List<Node> candidates = view.findAll(fieldType);
 
                         if (candidates.size() == 1) {
-                            injectedNode = candidates.iterator().next();
+                            injectedNode = candidates.get(0);
                         } else if (candidates.size() > 1) {
-                            throw new RuntimeException("View " + view.getClass().getSimpleName() +
+                            throw new RuntimeException("View " + view.getRoot().getClass().getSimpleName() +
                                     " 中存在多个 " + fieldType.getSimpleName() + "，请使用 @Control(\"id\") 精确注入");
                         }
                     }
@@ -342,20 +464,53 @@ public class MyControllerFactory {
 
             // 注入失败则抛出异常
             if (field.get(controller) == null) {
-                throw new RuntimeException("无法注入控件字段: " + field.getName());
+                throw new RuntimeException("无法注入控件字段: " + field.name());
             }
         }
     }
 
+    /**
+     * 查找所有视图中指定类型的节点（用于 List 注入），包括视图根节点，与 {@code lookupAll("*")} 一致
+     */
+    static List<Node> findAll(List<NodeIndex> views, Class<?> type) {
+        List<Node> collected = new ArrayList<>();
+        for (NodeIndex view : views) {
+            collected.addAll(view.findAll(type));
+        }
+        return collected;
+    }
+
+    /**
+     * 查找所有视图中指定类型、具有 id 的节点（用于 Map 注入），键为 id。
+     * 视图根节点不包括在内，id 相同时保留后出现的节点
+     */
+    static Map<String, Node> findAllById(List<NodeIndex> views, Class<?> type) {
+        Map<String, Node> resultMap = new HashMap<>();
+        for (NodeIndex view : views) {
+            view.findAll(type).forEach(node -> {
+                String nodeId = node.getId();
+                if (nodeId != null && node != view.getRoot()) {
+                    resultMap.put(nodeId, node);
+                }
+            });
+        }
+        return resultMap;
+    }
+
     /**
      * 根据类获取对应的单例 Bean（Controller 或 Service）
      *
      * @param clazz 类对象
      * @param <T>   泛型
-     * @return 缓存中的 Bean 实例，可能为 null
+     * @return 缓存中的 Bean 实例，可能为 null；@Lazy Bean 在第一次获取时创建
      */
     public static <T> T getBean(Class<T> clazz) {
-        return clazz.cast(beanCache.get(clazz));
+        Singleton<Object> bean = beanCache.get(clazz);
+        Object instance = bean != null ? bean.get() : null;
+        if (instance == null && injectionPlans.get(clazz).isLazy()) {
+            return createBean(clazz);
+        }
+        return clazz.cast(instance);
     }
 
     /**
@@ -366,44 +521,21 @@ public class MyControllerFactory {
      * @return 缓存中的 View 实例，可能为 null
      */
     public static <T> T getView(Class<T> clazz) {
-        return clazz.cast(viewCache.get(clazz));
-    }
-
-    /**
-     * 获取 List<T> 字段的 T 类型（泛型类型）。
-     *
-     * @param field 字段对象
-     * @return 泛型类型 T 的 Class
-     */
-    private static Class<?> getGenericType(Field field) {
-        return (Class<?>) ((java.lang.reflect.ParameterizedType) field.getGenericType())
-                .getActualTypeArguments()[0];
-    }
-
-    /**
-     * 获取 Map<String, T> 字段中 T 的类型。
-     *
-     * @param field 字段对象
-     * @return Map 值的泛型类型 T
-     */
-    private static Class<?> getMapValueType(Field field) {
-        return (Class<?>) ((java.lang.reflect.ParameterizedType) field.getGenericType())
-                .getActualTypeArguments()[1];
+        Singleton<Parent> view = viewCache.get(clazz);
+        return view != null ? clazz.cast(view.get()) : null;
     }
 
     /**
      * 提取 Controller 中所有带 @View 注解的字段，并返回其 Parent 视图对象。
      *
      * @param controller 控制器实例
+     * @param plan       控制器的注入计划
      * @return 所有注入的视图对象列表
-     * @throws IllegalAccessException 反射访问异常
+     * @throws Exception 读取字段值时可能抛出
      */
-    private static List<Parent> getViewsFromController(Object controller) throws IllegalAccessException {
+    private static List<Parent> getViewsFromController(Object controller, InjectionPlan plan) throws Exception {
         List<Parent> views = new ArrayList<>();
-        for (Field field : controller.getClass().getDeclaredFields()) {
-            if (!field.isAnnotationPresent(View.class))
-                continue;
-            field.setAccessible(true);
+        for (FieldHandle field : plan.getViewFields()) {
             Parent view = (Parent) field.get(controller);
             if (view != null)
                 views.add(view);
@@ -412,22 +544,24 @@ public class MyControllerFactory {
     }
 
     /**
-     * 递归收集某个视图中的所有 Node 控件（用于 Map 注入）。
+     * 收集某个视图中的所有 Node 控件（包括根节点）。
+     * 按深度优先的先序遍历，与 {@code lookup()} 的查找顺序一致。
      *
      * @param root 根节点
-     * @return 所有子节点集合
+     * @return 所有节点列表
      */
-    private static Set<Node> collectAllNodes(Parent root) {
-        Set<Node> allNodes = new HashSet<>();
-        Queue<Parent> queue = new LinkedList<>();
-        queue.add(root);
-
-        while (!queue.isEmpty()) {
-            Parent parent = queue.poll();
-            for (Node child : parent.getChildrenUnmodifiable()) {
-                allNodes.add(child);
-                if (child instanceof Parent) {
-                    queue.add((Parent) child);
+    private static List<Node> collectAllNodes(Parent root) {
+        List<Node> allNodes = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            allNodes.add(node);
+            if (node instanceof Parent parent) {
+                List<Node> children = parent.getChildrenUnmodifiable();
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
                 }
             }
         }
@@ -454,34 +588,124 @@ public class MyControllerFactory {
      * </pre>
      *
      * @param controller 控制器实例
+     * @param plan       控制器的注入计划（没有 @PostConstruct 方法时包含 initialize()）
      */
-    private static void invokeInitMethods(Object controller) {
-        boolean postConstructInvoked = false;
+    private static void invokeInitMethods(Object controller, InjectionPlan plan) {
+        for (InitMethod method : plan.getInitMethods()) {
+            try {
+                method.invoke(controller);
+            } catch (Exception e) {
+                throw new RuntimeException("调用初始化方法失败: " + method.name(), e);
+            }
+        }
+    }
 
-        for (var method : controller.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(com.phoenixhell.app.annotation.PostConstruct.class) &&
-                    method.getParameterCount() == 0) {
-                try {
-                    method.setAccessible(true);
-                    method.invoke(controller);
-                    postConstructInvoked = true;
-                } catch (Exception e) {
-                    throw new RuntimeException("调用 @PostConstruct 方法失败: " + method.getName(), e);
+    /**
+     * 等待 Future 完成，并还原其中的异常
+     */
+    private static void await(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 在 FX 线程中执行并等待完成。当前已是 FX 线程或 FX 尚未启动时直接执行
+     */
+    private static void runOnFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+            return;
+        }
+
+        CompletableFuture<Void> future;
+        try {
+            future = CompletableFuture.runAsync(action, Platform::runLater);
+        } catch (IllegalStateException e) {
+            // FX toolkit 未启动
+            action.run();
+            return;
+        }
+        await(future);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * 视图的节点索引，只遍历一次场景图，用于解析所有 @Control 字段
+     * - id 索引：相同 id 时保留第一个节点，与 {@code lookup("#id")} 一致
+     * - 类型索引：每种类型只过滤一次，结果缓存
+     */
+    static final class NodeIndex {
+
+        private final Parent root;
+        private final List<Node> nodes;
+        private final Map<String, Node> byId = new HashMap<>();
+        private final Map<Class<?>, List<Node>> byType = new HashMap<>();
+
+        public NodeIndex(Parent root) {
+            this.root = root;
+            this.nodes = collectAllNodes(root);
+            for (Node node : nodes) {
+                if (node.getId() != null) {
+                    byId.putIfAbsent(node.getId(), node);
                 }
             }
         }
 
-        // 如果没有使用 @PostConstruct 注解，则尝试调用 initialize()
-        if (!postConstructInvoked) {
-            try {
-                var initMethod = controller.getClass().getMethod("initialize"); // public method
-                if (initMethod.getParameterCount() == 0) {
-                    initMethod.invoke(controller);
+        public Parent getRoot() {
+            return root;
+        }
+
+        public Node findById(String id) {
+            return byId.get(id);
+        }
+
+        public List<Node> findAll(Class<?> type) {
+            return byType.computeIfAbsent(type, t -> nodes.stream().filter(t::isInstance).toList());
+        }
+    }
+
+    /**
+     * 单例持有者，保证并发访问时实例只创建一次
+     */
+    private static final class Singleton<T> {
+
+        private volatile T instance;
+        private Thread creator; // guarded by this
+
+        public T get() {
+            return instance;
+        }
+
+        public T getOrCreate(Callable<? extends T> factory) throws Exception {
+            T value = instance;
+            if (value != null) {
+                return value;
+            }
+
+            synchronized (this) {
+                if (instance == null) {
+                    // synchronized 可重入，同一线程再次进入说明存在循环依赖
+                    if (creator == Thread.currentThread()) {
+                        throw new IllegalStateException("检测到循环依赖");
+                    }
+                    creator = Thread.currentThread();
+                    try {
+                        instance = factory.call();
+                    } finally {
+                        creator = null;
+                    }
                 }
-            } catch (NoSuchMethodException e) {
-                // 忽略，表示未定义 initialize 方法
-            } catch (Exception e) {
-                throw new RuntimeException("调用 initialize() 方法失败: " + controller.getClass().getName(), e);
+                return instance;
             }
         }
     }
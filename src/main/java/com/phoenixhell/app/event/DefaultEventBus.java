@@ -1,12 +1,32 @@
 package com.phoenixhell.app.event;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
+import org.jetbrains.annotations.Nullable;
+
+import com.phoenixhell.app.service.system.TaskService;
+
+import javafx.application.Platform;
+
 /**
  * Simple event bus implementation.
  *
@@ -19,38 +39,181 @@ import java.util.function.Consumer;
  * You can use the default event bus instance {@link #getInstance}, which is a
  * singleton,
  * or you can create one or multiple instances of {@link DefaultEventBus}.
+ *
+ * <p>
+ * Subscribers are resolved once per concrete event class and cached until the
+ * next subscribe or unsubscribe, so publishing is a single lookup and a loop.
+ *
+ * <p>
+ * Every subscription has a {@link DeliveryMode}, which defines the thread
+ * the subscriber is called on. By default, events are delivered synchronously.
+ *
+ * <p>
+ * Objects can also be registered as a whole, see {@link #register(Object)}.
+ * Such owners are weakly referenced, and their subscriptions are purged on
+ * publish once the owner has been garbage collected.
+ *
+ * <p>
+ * Optionally, published events are recorded to an {@link EventJournal}, and
+ * publish counts and subscriber latencies are collected to {@link EventBusStats}.
  */
 @SuppressWarnings({ "rawtypes" })
 public final class DefaultEventBus implements com.phoenixhell.app.event.EventBus {
 
     public DefaultEventBus() {
+        this(Platform::runLater, Platform::isFxApplicationThread);
+    }
+
+    // FX thread access can be replaced, so that delivery modes can be tested without the toolkit
+    DefaultEventBus(Executor fxExecutor, BooleanSupplier fxThread) {
+        this.fxExecutor = Objects.requireNonNull(fxExecutor);
+        this.fxThread = Objects.requireNonNull(fxThread);
     }
 
-    private final Map<Class<?>, Set<Consumer>> subscribers = new ConcurrentHashMap<>();
+    private final Executor fxExecutor;
+    private final BooleanSupplier fxThread;
+    private final Map<Class<?>, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberOrder = new AtomicLong();
+
+    // listener methods of the registered objects, by owner identity
+    private final Map<OwnerKey, List<Registration>> owners = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collectedOwners = new ReferenceQueue<>();
+
+    private volatile EventJournal journal;
+    private volatile EventBusStats stats;
+
+    // events delivered to the FX thread subscribers from other threads
+    private final Queue<Runnable> fxQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean fxDrainScheduled = new AtomicBoolean(false);
+
+    // coalesced events waiting for the next pulse, the latest event per subscriber and key wins
+    private final Map<CoalescedKey, Event> coalesced = new LinkedHashMap<>();
+    private final AtomicBoolean coalescedDrainScheduled = new AtomicBoolean(false);
+
+    // incremented on every subscribers change, invalidates the dispatch cache
+    private final AtomicInteger generation = new AtomicInteger();
+    private final ClassValue<AtomicReference<Dispatch>> dispatchCache = new ClassValue<>() {
+        @Override
+        protected AtomicReference<Dispatch> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    @Override
+    public <E extends Event> Subscription subscribe(Class<? extends E> eventType, Consumer<E> subscriber) {
+        return subscribe(eventType, subscriber, DeliveryMode.SYNC);
+    }
 
     @Override
-    public <E extends Event> void subscribe(Class<? extends E> eventType, Consumer<E> subscriber) {
+    public <E extends Event> Subscription subscribe(Class<? extends E> eventType,
+                                                    Consumer<E> subscriber,
+                                                    DeliveryMode mode) {
         Objects.requireNonNull(eventType);
         Objects.requireNonNull(subscriber);
+        Objects.requireNonNull(mode);
+
+        var entry = new Subscriber(subscriber, mode, subscriberOrder.incrementAndGet(), eventType);
+        Set<Subscriber> eventSubscribers = subscribers.computeIfAbsent(eventType, k -> ConcurrentHashMap.newKeySet());
+        Subscriber subscribed = entry;
+        while (!eventSubscribers.add(entry)) {
+            // already subscribed, the handle must release (and deactivate) the registered entry,
+            // otherwise its queued FX events would still be delivered after unsubscribe
+            subscribed = find(eventSubscribers, subscriber);
+            if (subscribed != null) {
+                if (subscribed.mode() != mode) {
+                    throw new IllegalArgumentException("Subscriber is already subscribed to "
+                            + eventType.getSimpleName() + " with " + subscribed.mode() + " delivery mode");
+                }
+                break;
+            }
+            // removed in the meantime, try again
+        }
+
+        if (subscribed == entry) {
+            generation.incrementAndGet();
+        }
+
+        Subscriber registered = subscribed;
+        return () -> {
+            if (eventSubscribers.remove(registered)) {
+                registered.deactivate();
+                generation.incrementAndGet();
+            }
+        };
+    }
+
+    private static @Nullable Subscriber find(Set<Subscriber> eventSubscribers, Consumer<?> consumer) {
+        for (Subscriber entry : eventSubscribers) {
+            if (entry.consumer().equals(consumer)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Subscription register(Object owner) {
+        Objects.requireNonNull(owner);
+        purgeCollectedOwners();
+
+        var key = new OwnerKey(owner, collectedOwners);
+        owners.computeIfAbsent(key, k -> {
+            List<ListenerMethod> methods = ListenerMethod.of(owner.getClass());
+            var registrations = new ArrayList<Registration>(methods.size());
+            for (ListenerMethod method : methods) {
+                var entry = new Subscriber(
+                        new WeakListener(k, method), method.mode(), subscriberOrder.incrementAndGet(), method.eventType()
+                );
+                Set<Subscriber> eventSubscribers = subscribers.computeIfAbsent(
+                        method.eventType(), t -> ConcurrentHashMap.newKeySet()
+                );
+                eventSubscribers.add(entry);
+                registrations.add(new Registration(eventSubscribers, entry));
+            }
+            generation.incrementAndGet();
+            return registrations;
+        });
+
+        // capturing the key, not the owner, keeps the owner weakly reachable
+        return () -> remove(key);
+    }
 
-        Set<Consumer> eventSubscribers = getOrCreateSubscribers(eventType);
-        eventSubscribers.add(subscriber);
+    @Override
+    public void unregister(Object owner) {
+        Objects.requireNonNull(owner);
+        remove(new OwnerKey(owner, null));
+    }
+
+    private void remove(OwnerKey key) {
+        List<Registration> registrations = owners.remove(key);
+        if (registrations != null) {
+            registrations.forEach(r -> {
+                r.subscribers().remove(r.subscriber());
+                r.subscriber().deactivate();
+            });
+            generation.incrementAndGet();
+        }
     }
 
-    private <E> Set<Consumer> getOrCreateSubscribers(Class<E> eventType) {
-        Set<Consumer> eventSubscribers = subscribers.get(eventType);
-        if (eventSubscribers == null) {
-            eventSubscribers = new CopyOnWriteArraySet<>();
-            subscribers.put(eventType, eventSubscribers);
+    private void purgeCollectedOwners() {
+        Reference<?> ref;
+        while ((ref = collectedOwners.poll()) != null) {
+            remove((OwnerKey) ref);
         }
-        return eventSubscribers;
     }
 
     @Override
     public <E extends Event> void unsubscribe(Consumer<E> subscriber) {
         Objects.requireNonNull(subscriber);
 
-        subscribers.values().forEach(eventSubscribers -> eventSubscribers.remove(subscriber));
+        boolean removed = false;
+        for (Set<Subscriber> eventSubscribers : subscribers.values()) {
+            removed |= remove(eventSubscribers, subscriber);
+        }
+
+        if (removed) {
+            generation.incrementAndGet();
+        }
     }
 
     @Override
@@ -58,28 +221,287 @@ public final class DefaultEventBus implements com.phoenixhell.app.event.EventBus
         Objects.requireNonNull(eventType);
         Objects.requireNonNull(subscriber);
 
-        subscribers.keySet().stream()
-                .filter(eventType::isAssignableFrom)
-                .map(subscribers::get)
-                .forEach(eventSubscribers -> eventSubscribers.remove(subscriber));
+        boolean removed = false;
+        for (Map.Entry<Class<?>, Set<Subscriber>> e : subscribers.entrySet()) {
+            if (eventType.isAssignableFrom(e.getKey())) {
+                removed |= remove(e.getValue(), subscriber);
+            }
+        }
+
+        if (removed) {
+            generation.incrementAndGet();
+        }
+    }
+
+    // the registered entry must be deactivated, not the lookup one
+    private static boolean remove(Set<Subscriber> eventSubscribers, Consumer<?> consumer) {
+        for (Subscriber entry : eventSubscribers) {
+            if (entry.consumer().equals(consumer) && eventSubscribers.remove(entry)) {
+                entry.deactivate();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of active subscriptions, including the listener
+     * methods of registered objects.
+     */
+    public int getSubscriberCount() {
+        int count = 0;
+        for (Set<Subscriber> eventSubscribers : subscribers.values()) {
+            count += eventSubscribers.size();
+        }
+        return count;
     }
 
     @Override
     public <E extends Event> void publish(E event) {
         Objects.requireNonNull(event);
+        purgeCollectedOwners();
+
+        EventJournal journal = this.journal;
+        if (journal != null) {
+            journal.record(event);
+        }
+
+        EventBusStats stats = this.stats;
+        if (stats != null) {
+            stats.recordPublish(event.getClass());
+        }
 
-        Class<?> eventType = event.getClass();
-        subscribers.keySet().stream()
-                .filter(type -> type.isAssignableFrom(eventType))
-                .flatMap(type -> subscribers.get(type).stream())
-                .forEach(subscriber -> publish(event, subscriber));
+        for (Subscriber subscriber : resolve(event.getClass())) {
+            deliver(event, subscriber);
+        }
+    }
+
+    public EventJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Sets the journal to record published events, or {@code null} to stop recording.
+     */
+    public void setJournal(EventJournal journal) {
+        this.journal = journal;
+    }
+
+    public EventBusStats getStats() {
+        return stats;
     }
 
-    private <E extends Event> void publish(E event, Consumer<E> subscriber) {
+    /**
+     * Sets the statistics to collect, or {@code null} to stop collecting.
+     */
+    public void setStats(EventBusStats stats) {
+        this.stats = stats;
+    }
+
+    private <E extends Event> void deliver(E event, Subscriber subscriber) {
+        switch (subscriber.mode()) {
+            case SYNC -> publish(event, subscriber);
+            case FX_THREAD -> {
+                // keep the order, if there are queued events, this one must wait for them
+                if (fxThread.getAsBoolean() && fxQueue.isEmpty()) {
+                    publish(event, subscriber);
+                } else {
+                    fxQueue.add(() -> publish(event, subscriber));
+                    scheduleFxDrain();
+                }
+            }
+            case BACKGROUND -> TaskService.getInstance().execute(() -> publish(event, subscriber));
+            case FX_COALESCED -> {
+                // always deferred, so that the whole burst can be merged
+                synchronized (coalesced) {
+                    coalesced.put(new CoalescedKey(subscriber, event.getCoalescingKey()), event);
+                }
+                if (coalescedDrainScheduled.compareAndSet(false, true)) {
+                    fxExecutor.execute(this::drainCoalesced);
+                }
+            }
+        }
+    }
+
+    private void drainCoalesced() {
+        List<Map.Entry<CoalescedKey, Event>> events;
+        synchronized (coalesced) {
+            coalescedDrainScheduled.set(false);
+            events = new ArrayList<>(coalesced.entrySet());
+            coalesced.clear();
+        }
+
+        for (Map.Entry<CoalescedKey, Event> e : events) {
+            publish(e.getValue(), e.getKey().subscriber());
+        }
+    }
+
+    // all events queued until the FX thread picks them up are delivered by a single runLater() call
+    private void scheduleFxDrain() {
+        if (fxDrainScheduled.compareAndSet(false, true)) {
+            fxExecutor.execute(this::drainFxQueue);
+        }
+    }
+
+    private void drainFxQueue() {
+        fxDrainScheduled.set(false);
+        Runnable task;
+        while ((task = fxQueue.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private Subscriber[] resolve(Class<?> eventType) {
+        AtomicReference<Dispatch> ref = dispatchCache.get(eventType);
+
+        // the generation must be read before resolving, so that any concurrent
+        // change makes the result stale instead of being lost
+        int currentGeneration = generation.get();
+        Dispatch dispatch = ref.get();
+        if (dispatch != null && dispatch.generation() == currentGeneration) {
+            return dispatch.subscribers();
+        }
+
+        List<Subscriber> resolved = new ArrayList<>();
+        subscribers.forEach((type, eventSubscribers) -> {
+            if (type.isAssignableFrom(eventType)) {
+                resolved.addAll(eventSubscribers);
+            }
+        });
+        resolved.sort(Comparator.comparingLong(Subscriber::order));
+
+        dispatch = new Dispatch(currentGeneration, resolved.toArray(Subscriber[]::new));
+        ref.set(dispatch);
+        return dispatch.subscribers();
+    }
+
+    // deferred events are dropped if the subscription was released in the meantime,
+    // e.g. the page was detached before the FX thread picked them up
+    @SuppressWarnings("unchecked")
+    private <E extends Event> void publish(E event, Subscriber subscriber) {
+        if (subscriber.isActive()) {
+            publish(event, (Consumer<E>) subscriber.consumer(), subscriber.name());
+        }
+    }
+
+    private <E extends Event> void publish(E event, Consumer<E> subscriber, String name) {
+        EventBusStats stats = this.stats;
+        long start = stats != null ? System.nanoTime() : 0;
         try {
             subscriber.accept(event);
         } catch (Exception e) {
             Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        } finally {
+            if (stats != null) {
+                stats.recordDelivery(event, name, System.nanoTime() - start);
+            }
+        }
+    }
+
+    // The name must not depend on the subscriber instance, pages subscribe again on
+    // every attach. A lambda class is generated once per call site and its name
+    // (Declaring$$Lambda/0x...) is stable for the JVM lifetime, so different lambdas
+    // of the same class are told apart, while subscriptions from the same call site
+    // share the statistics.
+    private static String describe(Consumer<?> subscriber, DeliveryMode mode, Class<?> eventType) {
+        String name = subscriber instanceof WeakListener listener
+                ? listener.method.name()
+                : subscriber.getClass().getName();
+        return name + " [" + eventType.getSimpleName() + ", " + mode + "]";
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private record Dispatch(int generation, Subscriber[] subscribers) {
+    }
+
+    private record CoalescedKey(Subscriber subscriber, Object key) {
+    }
+
+    // subscribers are identified by the consumer only, so it can be unsubscribed without knowing the mode
+    // the name identifies the subscription in the statistics
+    private record Subscriber(Consumer consumer, DeliveryMode mode, long order, String name, AtomicBoolean active) {
+
+        Subscriber(Consumer consumer, DeliveryMode mode, long order, Class<?> eventType) {
+            this(consumer, mode, order, describe(consumer, mode, eventType), new AtomicBoolean(true));
+        }
+
+        boolean isActive() {
+            return active.get();
+        }
+
+        void deactivate() {
+            active.set(false);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Subscriber that && consumer.equals(that.consumer));
+        }
+
+        @Override
+        public int hashCode() {
+            return consumer.hashCode();
+        }
+    }
+
+    private record Registration(Set<Subscriber> subscribers, Subscriber subscriber) {
+    }
+
+    // weak reference compared by the referent identity, pages and other nodes must not be
+    // retained by the bus and must not be confused when they override equals()
+    private static final class OwnerKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        OwnerKey(Object owner, ReferenceQueue<Object> queue) {
+            super(owner, queue);
+            this.hash = System.identityHashCode(owner);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof OwnerKey that)) {
+                return false;
+            }
+            Object owner = get();
+            return owner != null && owner == that.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class WeakListener implements Consumer<Event> {
+
+        private final OwnerKey owner;
+        private final ListenerMethod method;
+
+        WeakListener(OwnerKey owner, ListenerMethod method) {
+            this.owner = owner;
+            this.method = method;
+        }
+
+        @Override
+        public void accept(Event event) {
+            Object target = owner.get();
+            if (target == null) {
+                // collected, but not purged yet
+                return;
+            }
+
+            try {
+                method.invoke(target, event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
         }
     }
 
@@ -0,0 +1,34 @@
+package com.phoenixhell.app.event;
+
+/**
+ * Defines on which thread a subscriber receives events.
+ */
+public enum DeliveryMode {
+
+    /**
+     * Events are delivered synchronously on the publisher thread.
+     */
+    SYNC,
+
+    /**
+     * Events are delivered on the FX application thread. Events published from
+     * the FX thread are delivered synchronously, events published from other
+     * threads are batched into a single {@code Platform.runLater()} call.
+     */
+    FX_THREAD,
+
+    /**
+     * Events are delivered asynchronously on a virtual thread, so that a slow
+     * subscriber never blocks the publisher. Subscribers must not touch UI.
+     */
+    BACKGROUND,
+
+    /**
+     * Events are delivered on the FX application thread once per pulse. Events
+     * with the same {@link Event#getCoalescingKey() coalescing key} published
+     * before the delivery are merged, and only the latest one is delivered.
+     * Intended for expensive subscribers that only need to know that something
+     * has changed, not how many times.
+     */
+    FX_COALESCED
+}
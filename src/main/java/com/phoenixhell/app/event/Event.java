@@ -1,18 +1,43 @@
 package com.phoenixhell.app.event;
 
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class Event {
 
-    protected final UUID id = UUID.randomUUID();
+    // a counter is much cheaper than a random UUID, and it also preserves the publishing order
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    protected final long id = SEQUENCE.incrementAndGet();
+    protected final long timestamp = System.nanoTime();
 
     protected Event() {
     }
 
-    public UUID getId() {
+    /**
+     * Returns the event sequence number, which is unique and monotonically
+     * increasing within the application session.
+     */
+    public long getId() {
         return id;
     }
 
+    /**
+     * Returns the event creation time, see {@link System#nanoTime()}.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the key used to merge events delivered in the
+     * {@link DeliveryMode#FX_COALESCED} mode. Events with equal keys are
+     * considered the same kind of event. By default, all events of the same
+     * class are merged.
+     */
+    public Object getCoalescingKey() {
+        return getClass();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -21,18 +46,19 @@ public abstract class Event {
         if (!(o instanceof Event event)) {
             return false;
         }
-        return id.equals(event.id);
+        return id == event.id;
     }
 
     @Override
     public int hashCode() {
-        return id.hashCode();
+        return Long.hashCode(id);
     }
 
     @Override
     public String toString() {
         return "Event{"
             + "id=" + id
+            + ", timestamp=" + timestamp
             + '}';
     }
 
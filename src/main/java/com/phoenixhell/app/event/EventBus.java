@@ -7,11 +7,28 @@ public interface EventBus {
     /**
      * Subscribe to an event type.
      *
+     * <p>Subscribing the same subscriber to the same event type again has no effect,
+     * the returned handle releases the existing subscription.
+     *
      * @param eventType  the event type, can be a super class of all events to subscribe.
      * @param subscriber the subscriber which will consume the events.
      * @param <T>        the event type class.
+     * @return the subscription handle, that can be used to unsubscribe.
      */
-    <T extends Event> void subscribe(Class<? extends T> eventType, Consumer<T> subscriber);
+    <T extends Event> Subscription subscribe(Class<? extends T> eventType, Consumer<T> subscriber);
+
+    /**
+     * Subscribe to an event type with the given delivery mode.
+     *
+     * @param eventType  the event type, can be a super class of all events to subscribe.
+     * @param subscriber the subscriber which will consume the events.
+     * @param mode       defines on which thread the subscriber receives events.
+     * @param <T>        the event type class.
+     * @return the subscription handle, that can be used to unsubscribe.
+     * @throws IllegalArgumentException if the subscriber is already subscribed to the event type
+     *                                  with another delivery mode.
+     */
+    <T extends Event> Subscription subscribe(Class<? extends T> eventType, Consumer<T> subscriber, DeliveryMode mode);
 
     /**
      * Unsubscribe from all event types.
@@ -29,6 +46,24 @@ public interface EventBus {
      */
     <T extends Event> void unsubscribe(Class<? extends T> eventType, Consumer<T> subscriber);
 
+    /**
+     * Subscribe all {@link Listener} methods of the given object.
+     *
+     * <p>The owner is weakly referenced, registering doesn't prevent it from being
+     * garbage collected. Subscriptions of a collected owner are removed automatically.
+     *
+     * @param owner the object which declares listener methods.
+     * @return the subscription handle, that can be used to unsubscribe all listener methods.
+     */
+    Subscription register(Object owner);
+
+    /**
+     * Unsubscribe all {@link Listener} methods of the given object.
+     *
+     * @param owner the object previously passed to {@link #register(Object)}.
+     */
+    void unregister(Object owner);
+
     /**
      * Publish an event to all subscribers.
      *
@@ -0,0 +1,116 @@
+package com.phoenixhell.app.event;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.phoenixhell.app.util.LatencyHistogram;
+
+/**
+ * Event bus runtime statistics.
+ *
+ * <p>
+ * Counts published events per event type and records the time every subscriber
+ * spends handling an event. Subscribers are identified by the lambda or class
+ * (or the method for {@link Listener} methods), the event type and the delivery
+ * mode, so all instances of the same page share a single histogram, while
+ * different lambdas of the same class are reported separately. Deliveries that
+ * take longer than the slow threshold are logged as they happen.
+ *
+ * <p>
+ * Statistics are saved on exit, or on demand with the {@link DevToolsEvent}.
+ *
+ * <p>
+ * All methods are thread-safe.
+ */
+public final class EventBusStats {
+
+    private final Map<Class<?>, LongAdder> publishCounts = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> subscriberLatency = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+
+    /**
+     * @param slowThreshold subscribers exceeding this time are logged, zero disables logging
+     * @param unit          the threshold time unit
+     */
+    public EventBusStats(long slowThreshold, TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        this.slowThresholdNanos = unit.toNanos(Math.max(0, slowThreshold));
+    }
+
+    public void recordPublish(Class<? extends Event> eventType) {
+        publishCounts.computeIfAbsent(eventType, k -> new LongAdder()).increment();
+    }
+
+    public void recordDelivery(Event event, String subscriber, long nanos) {
+        subscriberLatency.computeIfAbsent(subscriber, k -> new LatencyHistogram()).record(nanos);
+
+        if (slowThresholdNanos > 0 && nanos > slowThresholdNanos) {
+            System.err.printf(Locale.ROOT, "[WARNING] Slow event subscriber: %s took %.1f ms to handle %s.%n",
+                    subscriber, nanos / 1_000_000.0, event.getClass().getSimpleName());
+        }
+    }
+
+    public long getPublishCount(Class<? extends Event> eventType) {
+        var count = publishCounts.get(eventType);
+        return count != null ? count.sum() : 0;
+    }
+
+    public Map<String, LatencyHistogram> getSubscriberLatency() {
+        return Map.copyOf(subscriberLatency);
+    }
+
+    public long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    public void reset() {
+        publishCounts.clear();
+        subscriberLatency.clear();
+    }
+
+    public String toCsv() {
+        var sb = new StringBuilder("event,published\n");
+        publishCounts.entrySet().stream()
+                .sorted(Comparator.comparing(e -> e.getKey().getSimpleName()))
+                .forEach(e -> sb.append(e.getKey().getSimpleName()).append(',')
+                        .append(e.getValue().sum()).append('\n'));
+
+        sb.append('\n');
+        sb.append("subscriber,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms\n");
+        // the slowest subscribers first
+        subscriberLatency.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, LatencyHistogram> e) -> e.getValue().getTotalNanos()).reversed())
+                .forEach(e -> {
+                    var h = e.getValue();
+                    sb.append('"').append(e.getKey().replace("\"", "\"\"")).append('"').append(',')
+                            .append(h.getCount()).append(',')
+                            .append(toMillis(h.getMeanNanos())).append(',')
+                            .append(toMillis(h.getPercentileNanos(50))).append(',')
+                            .append(toMillis(h.getPercentileNanos(90))).append(',')
+                            .append(toMillis(h.getPercentileNanos(99))).append(',')
+                            .append(toMillis(h.getMaxNanos())).append('\n');
+                });
+
+        return sb.toString();
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        Objects.requireNonNull(path, "path");
+        Files.writeString(path, toCsv(), UTF_8);
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
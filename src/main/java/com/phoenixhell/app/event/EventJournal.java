@@ -0,0 +1,72 @@
+package com.phoenixhell.app.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bounded ring buffer of the recently published events.
+ *
+ * <p>
+ * When the buffer is full, the oldest event is overwritten. Recorded events
+ * can be replayed into another event bus in the original order, which is
+ * useful to reproduce an issue of the current session.
+ */
+public final class EventJournal {
+
+    private final Event[] buffer;
+    private int head = 0; // next write position
+    private int size = 0;
+
+    public EventJournal(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive. Actual value is " + capacity + ".");
+        }
+        this.buffer = new Event[capacity];
+    }
+
+    public synchronized void record(Event event) {
+        Objects.requireNonNull(event);
+        buffer[head] = event;
+        head = (head + 1) % buffer.length;
+        size = Math.min(size + 1, buffer.length);
+    }
+
+    /**
+     * Returns the recorded events, the oldest first.
+     */
+    public synchronized List<Event> getEvents() {
+        var events = new ArrayList<Event>(size);
+        int start = (head - size + buffer.length) % buffer.length;
+        for (int i = 0; i < size; i++) {
+            events.add(buffer[(start + i) % buffer.length]);
+        }
+        return events;
+    }
+
+    /**
+     * Publishes all recorded events to the given event bus, the oldest first.
+     * The target bus must not record into this journal.
+     */
+    public void replay(EventBus eventBus) {
+        Objects.requireNonNull(eventBus);
+        for (Event event : getEvents()) {
+            eventBus.publish(event);
+        }
+    }
+
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        head = 0;
+        size = 0;
+    }
+}
@@ -1,8 +1,18 @@
 package com.phoenixhell.app.event;
 
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks a method that receives events when its owner is registered with
+ * {@link EventBus#register(Object)}. The method must have a single parameter,
+ * which is the event type to subscribe to.
+ */
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface Listener {
-}
\ No newline at end of file
+
+    DeliveryMode mode() default DeliveryMode.SYNC;
+}
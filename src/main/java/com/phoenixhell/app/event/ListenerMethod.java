@@ -0,0 +1,80 @@
+package com.phoenixhell.app.event;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A method annotated with {@link Listener}.
+ *
+ * <p>
+ * Listener methods are resolved once per class. The method handle is not bound
+ * to the owner, so that holding it doesn't prevent the owner from being
+ * garbage collected.
+ */
+record ListenerMethod(String name, Class<? extends Event> eventType, DeliveryMode mode, MethodHandle handle) {
+
+    private static final ClassValue<List<ListenerMethod>> CACHE = new ClassValue<>() {
+        @Override
+        protected List<ListenerMethod> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    public static List<ListenerMethod> of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public void invoke(Object owner, Event event) throws Throwable {
+        handle.invokeExact(owner, event);
+    }
+
+    private static List<ListenerMethod> resolve(Class<?> type) {
+        var methods = new ArrayList<ListenerMethod>();
+
+        // inherited listeners are included, the superclass ones are called first
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            methods.addAll(of(type.getSuperclass()));
+        }
+
+        MethodHandles.Lookup lookup = lookupFor(type);
+        for (Method method : type.getDeclaredMethods()) {
+            Listener listener = method.getAnnotation(Listener.class);
+            if (listener == null) {
+                continue;
+            }
+
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                throw new IllegalArgumentException(
+                        "Listener method must have a single event parameter: " + type.getName() + "." + method.getName()
+                );
+            }
+
+            try {
+                @SuppressWarnings("unchecked")
+                var eventType = (Class<? extends Event>) method.getParameterTypes()[0];
+                var handle = lookup.unreflect(method).asType(methodType(void.class, Object.class, Event.class));
+                methods.add(new ListenerMethod(type.getName() + "#" + method.getName(), eventType, listener.mode(), handle));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(
+                        "Listener method is not accessible: " + type.getName() + "." + method.getName(), e
+                );
+            }
+        }
+
+        return List.copyOf(methods);
+    }
+
+    // classes of other modules must declare public listener methods
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.phoenixhell.app.event;
+
+/**
+ * Handle of a single event bus subscription.
+ * Use it to release the subscription without keeping a reference to the subscriber.
+ */
+@FunctionalInterface
+public interface Subscription {
+
+    /**
+     * Unsubscribe. Calling this method more than once has no effect.
+     */
+    void unsubscribe();
+}
@@ -24,6 +24,11 @@ public final class ThemeEvent extends Event {
         return eventType;
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return eventType;
+    }
+
     @Override
     public String toString() {
         return "ThemeEvent{"
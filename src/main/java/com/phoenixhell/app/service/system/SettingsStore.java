@@ -0,0 +1,292 @@
+package com.phoenixhell.app.service.system;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 设置文件的读写：快照 + 只追加的日志，由 {@link UserSettingsService} 使用。
+ *
+ * 目录中的文件：
+ * <ul>
+ * <li>快照 {@code <name>}：完整的设置（JSON），先写临时文件再原子重命名；</li>
+ * <li>日志 {@code <name>.journal}：只追加的修改记录，每行一条 JSON，
+ * 格式为 {@code {"seq":1,"key":"THEME","value":"DARK"}}，value 为 null 表示删除；</li>
+ * <li>值文件 {@code <name>.values/<key>}：超过 {@link #EXTERNAL_THRESHOLD} 的值单独保存，
+ * 日志中只记录 {@code {"seq":2,"key":"DEMO","external":true}}，快照中只记录 key，
+ * 因此较大的值不会在每次保存时追加到日志，也不会在合并时重写到快照中。</li>
+ * </ul>
+ * 日志超过 {@link #COMPACT_THRESHOLD} 时合并为新的快照并清空日志。
+ * 加载时先读取快照，再按顺序重放日志中序号大于快照序号的记录，最后读取值文件；
+ * 崩溃导致的不完整记录会被忽略。
+ *
+ * 不是线程安全的：加载在首次访问设置时进行，保存由调用方持有写锁。
+ */
+final class SettingsStore {
+
+    // 快照中记录已合并的最后一条日志序号，不属于设置项
+    static final String SNAPSHOT_SEQ = "__SEQ";
+    // 快照中记录保存在值文件中的 key（逗号分隔），不属于设置项
+    static final String SNAPSHOT_EXTERNAL = "__EXTERNAL";
+
+    // 日志文件超过该大小时合并为快照（字节）
+    static final long COMPACT_THRESHOLD = 64 * 1024;
+    // 值超过该长度时保存到单独的文件中（字符）
+    static final int EXTERNAL_THRESHOLD = 4 * 1024;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path valuesDir;
+
+    private long journalSeq = 0;
+    private boolean compactPending = false;
+
+    SettingsStore(Path dir, String name) {
+        this.snapshotFile = dir.resolve(name);
+        this.journalFile = dir.resolve(name + ".journal");
+        this.valuesDir = dir.resolve(name + ".values");
+    }
+
+    /**
+     * 从文件中加载设置：快照 + 重放日志 + 值文件
+     */
+    Map<String, String> load() {
+        var result = new ConcurrentHashMap<String, String>();
+        var external = new HashSet<String>();
+        long snapshotSeq = 0;
+        try {
+            if (Files.exists(snapshotFile) && Files.size(snapshotFile) > 0) {
+                // 指定读取的类型为 Map<String, String>，由 Jackson 负责打开和关闭文件
+                Map<String, String> saved = objectMapper.readValue(snapshotFile.toFile(),
+                        new TypeReference<Map<String, String>>() {
+                        });
+                if (saved != null) {
+                    // ConcurrentHashMap 不允许 null 值
+                    saved.forEach((k, v) -> {
+                        if (k != null && v != null) {
+                            result.put(k, v);
+                        }
+                    });
+                }
+                String seq = result.remove(SNAPSHOT_SEQ);
+                snapshotSeq = seq != null ? Long.parseLong(seq) : 0;
+                String keys = result.remove(SNAPSHOT_EXTERNAL);
+                if (keys != null && !keys.isEmpty()) {
+                    external.addAll(Arrays.asList(keys.split(",")));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 如果读取出错，使用默认空设置
+            Logger.error(e, "Unable to load user settings, defaults are used");
+        }
+
+        journalSeq = Math.max(snapshotSeq, replayJournal(result, external, snapshotSeq));
+
+        for (String key : external) {
+            try {
+                result.put(key, Files.readString(getValueFile(key), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                Logger.warn("Unable to read user setting \"{}\", default is used", key);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 将日志中序号大于 afterSeq 的记录应用到设置中，保存在值文件中的 key 记录到 external
+     *
+     * @return 日志中最大的序号
+     */
+    private long replayJournal(Map<String, String> target, Set<String> external, long afterSeq) {
+        long lastSeq = 0;
+        try {
+            if (!Files.exists(journalFile)) {
+                return 0;
+            }
+
+            String content = Files.readString(journalFile, StandardCharsets.UTF_8);
+            if (!content.isEmpty() && !content.endsWith("\n")) {
+                // 最后一条记录不完整，之后追加的记录会接在它后面，因此下次保存时先合并
+                compactPending = true;
+            }
+
+            for (String line : content.split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    // 写入过程中崩溃留下的不完整记录
+                    Logger.warn("Skipping corrupted settings journal record");
+                    compactPending = true;
+                    continue;
+                }
+
+                long seq = record.path("seq").asLong();
+                String key = record.path("key").textValue();
+                JsonNode value = record.path("value");
+                if (key == null) {
+                    continue;
+                }
+
+                lastSeq = Math.max(lastSeq, seq);
+                if (seq > afterSeq) {
+                    target.remove(key);
+                    external.remove(key);
+                    if (record.path("external").asBoolean()) {
+                        external.add(key);
+                    } else if (value.isTextual()) {
+                        target.put(key, value.textValue());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Logger.error(e, "Unable to read user settings journal");
+        }
+        return lastSeq;
+    }
+
+    /**
+     * 保存修改过的设置项：追加到日志，日志过大或有不完整的记录时合并为快照
+     */
+    void save(Map<String, String> settings, Collection<String> keys) throws IOException {
+        // 修改过的设置项可能已经由上一次保存写入（标记和版本号不是原子更新的）
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        if (compactPending) {
+            // 快照已包含所有修改，不需要再追加日志
+            for (String key : keys) {
+                String value = settings.get(key);
+                if (isExternal(value)) {
+                    writeValueFile(key, value);
+                }
+            }
+            compact(settings);
+            compactPending = false;
+        } else {
+            appendJournal(settings, keys);
+            if (Files.size(journalFile) > COMPACT_THRESHOLD) {
+                compact(settings);
+            }
+        }
+
+        // 记录已写入，不再需要的值文件可以删除
+        for (String key : keys) {
+            if (!isExternal(settings.get(key))) {
+                Files.deleteIfExists(getValueFile(key));
+            }
+        }
+    }
+
+    /**
+     * 将修改过的设置项追加到日志中，较大的值先写入值文件
+     */
+    private void appendJournal(Map<String, String> settings, Collection<String> keys) throws IOException {
+        var sb = new StringBuilder();
+        long seq = journalSeq;
+        for (String key : keys) {
+            String value = settings.get(key);
+            ObjectNode record = objectMapper.createObjectNode()
+                    .put("seq", ++seq)
+                    .put("key", key);
+            if (isExternal(value)) {
+                writeValueFile(key, value);
+                record.put("external", true);
+            } else {
+                record.put("value", value);
+            }
+            sb.append(objectMapper.writeValueAsString(record)).append('\n');
+        }
+
+        Files.writeString(journalFile, sb, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journalSeq = seq;
+    }
+
+    /**
+     * 将当前设置写入快照并清空日志。
+     * 快照中记录最后一条日志的序号，即使删除日志之前崩溃，加载时也不会重放旧记录。
+     * 较大的值已经在保存修改时写入值文件，快照中只记录 key
+     */
+    private void compact(Map<String, String> settings) throws IOException {
+        var snapshot = new TreeMap<String, String>();
+        List<String> external = new ArrayList<>();
+        settings.forEach((key, value) -> {
+            if (isExternal(value)) {
+                external.add(key);
+            } else {
+                snapshot.put(key, value);
+            }
+        });
+        snapshot.put(SNAPSHOT_SEQ, String.valueOf(journalSeq));
+        if (!external.isEmpty()) {
+            external.sort(null);
+            snapshot.put(SNAPSHOT_EXTERNAL, String.join(",", external));
+        }
+
+        writeAtomically(snapshotFile, objectMapper.writeValueAsBytes(snapshot));
+        Files.deleteIfExists(journalFile);
+    }
+
+    private void writeValueFile(String key, String value) throws IOException {
+        Files.createDirectories(valuesDir);
+        writeAtomically(getValueFile(key), value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path getValueFile(String key) {
+        return valuesDir.resolve(key);
+    }
+
+    long getJournalSeq() {
+        return journalSeq;
+    }
+
+    boolean isCompactPending() {
+        return compactPending;
+    }
+
+    static boolean isExternal(String value) {
+        return value != null && value.length() > EXTERNAL_THRESHOLD;
+    }
+
+    /**
+     * 先写入临时文件，再原子替换目标文件，写入过程中崩溃不会损坏原文件
+     */
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        Files.write(temp, content);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.phoenixhell.app.service.system;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.tinylog.Logger;
+
+/**
+ * 应用统一的后台任务服务，替代各处直接 new Thread() 或自建的线程池。
+ *
+ * 提供两个线程池：
+ * <ul>
+ * <li>虚拟线程池：用于 IO 或等待为主的任务（读写文件、打开外部程序、模拟耗时的演示任务），
+ * 每个任务一个虚拟线程，线程名为 {@code task-N}；</li>
+ * <li>平台线程池：用于计算为主的任务（解析 CSS、计算颜色等），线程数有上限，
+ * 线程名为 {@code worker-N}，均为守护线程，空闲一段时间后自动回收。</li>
+ * </ul>
+ * 需要按顺序执行的任务（例如写文件、编译样式表）不再单独创建单线程的线程池，
+ * 而是使用 {@link #newSerialExecutor()} 或 {@link #newSerialComputeExecutor()}，
+ * 任务依次在上述线程池中执行；延迟执行的任务使用 {@link #schedule}，
+ * 计时线程只负责在到期时把任务交给指定的执行器。
+ *
+ * 提交的任务会被计数，可以通过 {@link #getActiveCount()} 等方法观察当前的并发情况。
+ * 程序退出时需要调用 {@link #shutdown()}，等待正在执行的任务结束，超时后中断。
+ *
+ * 页面中的任务应通过 {@code PageTasks} 提交，页面离开时会自动取消。
+ */
+public final class TaskService {
+
+    // 退出时等待任务结束的最长时间
+    private static final long SHUTDOWN_TIMEOUT = 2_000; // ms
+    private static final long KEEP_ALIVE = 30; // s
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private final ExecutorService virtualExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("task-", 1).factory());
+    private final ThreadPoolExecutor platformExecutor = createPlatformExecutor();
+    private final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    /**
+     * 在虚拟线程中执行任务
+     */
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        virtualExecutor.execute(track(task));
+    }
+
+    /**
+     * 在平台线程池中执行计算任务
+     */
+    public void compute(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        platformExecutor.execute(track(task));
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        Objects.requireNonNull(task, "task");
+        return virtualExecutor.submit(track(task));
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "supplier");
+        return CompletableFuture.supplyAsync(supplier, this::execute);
+    }
+
+    public <T> CompletableFuture<T> computeAsync(Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "supplier");
+        return CompletableFuture.supplyAsync(supplier, this::compute);
+    }
+
+    /**
+     * 创建按提交顺序逐个执行任务的执行器，任务在虚拟线程中执行
+     */
+    public Executor newSerialExecutor() {
+        return new SerialExecutor(this::execute);
+    }
+
+    /**
+     * 创建按提交顺序逐个执行任务的执行器，任务在平台线程池中执行
+     */
+    public Executor newSerialComputeExecutor() {
+        return new SerialExecutor(this::compute);
+    }
+
+    /**
+     * 延迟执行任务，到期后由指定的执行器执行。
+     * 返回的 Future 只能在到期前取消任务；程序退出时，尚未到期的任务会被丢弃
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit, Executor executor) {
+        Objects.requireNonNull(task, "task");
+        Objects.requireNonNull(unit, "unit");
+        Objects.requireNonNull(executor, "executor");
+        return scheduler.schedule(() -> executor.execute(task), delay, unit);
+    }
+
+    /**
+     * 正在执行的任务数（两个线程池合计）
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * 已提交的任务总数
+     */
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    /**
+     * 抛出异常的任务数
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * 平台线程池中等待执行的任务数
+     */
+    public int getQueuedCount() {
+        return platformExecutor.getQueue().size();
+    }
+
+    public int getMaxPlatformThreads() {
+        return platformExecutor.getMaximumPoolSize();
+    }
+
+    public boolean isShutdown() {
+        return virtualExecutor.isShutdown();
+    }
+
+    /**
+     * 停止接收新任务，等待正在执行的任务结束，超时后中断剩余的任务
+     */
+    public void shutdown() {
+        // 延迟的任务（保存设置等）在退出前已经由调用方直接执行
+        scheduler.shutdownNow();
+        virtualExecutor.shutdown();
+        platformExecutor.shutdown();
+
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT);
+            for (ExecutorService executor : List.of(virtualExecutor, platformExecutor)) {
+                long remaining = deadline - System.nanoTime();
+                if (!executor.awaitTermination(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                    Logger.warn("{} 个后台任务未在 {} ms 内结束，已中断", active.get(), SHUTDOWN_TIMEOUT);
+                    executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            virtualExecutor.shutdownNow();
+            platformExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TaskService{"
+                + "active=" + active.get()
+                + ", queued=" + getQueuedCount()
+                + ", submitted=" + submitted.get()
+                + ", failed=" + failed.get()
+                + '}';
+    }
+
+    private Runnable track(Runnable task) {
+        submitted.incrementAndGet();
+        return () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                failed.incrementAndGet();
+                throw e;
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+    }
+
+    private <T> Callable<T> track(Callable<T> task) {
+        submitted.incrementAndGet();
+        return () -> {
+            active.incrementAndGet();
+            try {
+                return task.call();
+            } catch (Exception | Error e) {
+                failed.incrementAndGet();
+                throw e;
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+    }
+
+    private static ThreadPoolExecutor createPlatformExecutor() {
+        var counter = new AtomicInteger(1);
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        var executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    var thread = new Thread(r, "worker-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        var executor = new ScheduledThreadPoolExecutor(1, r -> {
+            var thread = new Thread(r, "task-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setKeepAliveTime(KEEP_ALIVE, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 串行执行器：同一时间只有一个任务在执行，任务按提交顺序执行。
+     * 队列中的任务由同一次提交依次执行完，执行完后才释放线程
+     */
+    private static final class SerialExecutor implements Executor {
+
+        private final Executor executor;
+        private final Queue<Runnable> tasks = new ArrayDeque<>(); // guarded by this
+        private boolean running; // guarded by this
+
+        SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            Objects.requireNonNull(task, "task");
+            synchronized (this) {
+                tasks.add(task);
+                if (running) {
+                    return;
+                }
+                running = true;
+            }
+
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    tasks.clear();
+                    running = false;
+                }
+                throw e;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        return;
+                    }
+                }
+
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // 与单线程的线程池一致，异常不影响后续任务
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Singleton //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private TaskService() {
+    }
+
+    private static class InstanceHolder {
+
+        private static final TaskService INSTANCE = new TaskService();
+    }
+
+    public static TaskService getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+}
@@ -3,21 +3,29 @@ package com.phoenixhell.app.service.system;
 import atlantafx.base.theme.CupertinoDark;
 import atlantafx.base.theme.CupertinoLight;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import javafx.application.Application;
 import org.tinylog.Logger;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 管理用户设置：负责加载、保存和修改应用程序的设置。
+ *
+ * 设置在首次访问时加载到内存中，之后所有读写都只访问内存。
+ * 每次修改都会在后台线程中延迟保存（去抖），短时间内的多次修改只写一次文件，
+ * 因此不会阻塞 FX 线程。程序退出时需要调用 {@link #saveSettings()} 立即保存。
+ *
+ * 保存时只追加修改过的设置项，文件格式（快照、日志、较大的值单独保存）见 {@link SettingsStore}。
  */
 public class UserSettingsService {
 
@@ -25,9 +33,6 @@ public class UserSettingsService {
     public static final String DARK = "DARK";
     public static final String LIGHT = "LIGHT";
 
-    // jackson 用于 JSON 序列化与反序列化
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
     // 各种设置项的 key 常量
     private static final String WINDOW_X = "WINDOW_X";
     private static final String WINDOW_Y = "WINDOW_Y";
@@ -39,70 +44,116 @@ public class UserSettingsService {
     private static final String THEME = "THEME";
     private static final String DEMO = "DEMO";
 
-    // 保存所有设置的 Map
-    private static Map<String, String> settings = new HashMap<>();
-
     // 设置文件名（不带扩展名）
     public static final String APP_SETTINGS_FILE = "settings";
 
+    // 最后一次修改之后等待多久再写入文件
+    private static final long SAVE_DELAY_MS = 500;
+
+    // 保存所有设置的 Map（首次访问时加载）
+    private static volatile Map<String, String> settings;
+    // 设置文件，首次加载设置时创建，之后只在持有 writeLock 时访问
+    private static SettingsStore store;
+
+    // 每次修改加一，用于判断是否有未保存的修改
+    private static final AtomicLong version = new AtomicLong();
+    private static final Object writeLock = new Object();
+    private static long savedVersion = 0; // 只在持有 writeLock 时访问
+
+    // 已修改但尚未写入日志的设置项
+    private static final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+
+    // 保存按顺序执行，由 TaskService 管理，退出前由 Launcher 直接保存
+    private static final Executor writer = TaskService.getInstance().newSerialExecutor();
+    private static ScheduledFuture<?> pendingSave; // 只在持有类锁时访问
+
     /**
-     * 获取设置文件的完整路径
+     * 从文件中加载设置
      */
-    private static File getSettingsFile() throws IOException {
-        String path = LocalDirService.getUserDataDirPath(); // 获取用户目录路径
-        return new File(path + File.separator + APP_SETTINGS_FILE); // 构造文件路径
+    private static Map<String, String> loadSettings() {
+        try {
+            store = new SettingsStore(Paths.get(LocalDirService.getUserDataDirPath()), APP_SETTINGS_FILE);
+        } catch (IOException e) {
+            // 如果无法访问数据目录，使用默认空设置，也不保存
+            Logger.error(e, "Unable to load user settings, defaults are used");
+            return new ConcurrentHashMap<>();
+        }
+        return store.load();
     }
 
     /**
-     * 从文件中加载设置（只在第一次访问或为空时加载）
+     * 立即将修改过的设置保存到文件中，并取消等待中的延迟保存。
+     * 没有未保存的修改时不写文件。
      */
-    private static synchronized void loadSettings() {
-        try {
-            File file = getSettingsFile();
-            if (!file.exists()) {
-                // 如果文件不存在，创建空文件
-                file.createNewFile();
+    public static void saveSettings() {
+        synchronized (UserSettingsService.class) {
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+                pendingSave = null;
             }
+        }
 
-            // 指定读取的类型为 Map<String, String>
-            FileReader f = new FileReader(file);
-            settings = objectMapper.readValue(f, new TypeReference<Map<String, String>>() {
-            });
-
-            // 如果读取失败或为空则重新初始化为空 Map
-            if (settings == null) {
-                settings = new HashMap<>();
+        // 写文件时不持有类锁，修改设置的线程不会被阻塞
+        synchronized (writeLock) {
+            long current = version.get();
+            if (settings == null || store == null || current == savedVersion) {
+                return;
             }
 
-        } catch (IOException e) {
-            // 如果读取出错，初始化为默认空设置
-            settings = new HashMap<>();
+            // 先移除再读取值，之后的修改会再次标记
+            List<String> keys = List.copyOf(dirtyKeys);
+            dirtyKeys.removeAll(keys);
+            try {
+                store.save(settings, keys);
+                savedVersion = current;
+            } catch (IOException e) {
+                // 下次保存时重试
+                dirtyKeys.addAll(keys);
+                Logger.error(" caught a " + e.getClass() + "\n with message: " + e.getMessage());
+            }
         }
     }
 
     /**
-     * 将当前设置保存到文件中（覆盖）
+     * 在后台线程中延迟保存，期间的新修改会推迟保存时间
      */
-    public static synchronized void saveSettings() {
-        try {
-            File filePath = getSettingsFile();
-            FileWriter f = new FileWriter(filePath);
-            objectMapper.writeValue(f, settings); // 写入 JSON 格式 自动 flush 自动 close
-
-        } catch (IOException e) {
-            Logger.error(" caught a " + e.getClass() + "\n with message: " + e.getMessage());
-            throw new RuntimeException(e); // 抛出异常中断程序
+    private static synchronized void scheduleSave() {
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
         }
+        pendingSave = TaskService.getInstance().schedule(
+                UserSettingsService::saveSettings, SAVE_DELAY_MS, TimeUnit.MILLISECONDS, writer);
     }
 
     /**
      * 获取当前设置（首次访问时加载）
      */
     private static Map<String, String> getSettings() {
-        if (settings == null || settings.isEmpty()) {
-            loadSettings(); // 延迟加载
+        Map<String, String> result = settings;
+        if (result == null) {
+            synchronized (UserSettingsService.class) {
+                result = settings;
+                if (result == null) {
+                    result = loadSettings();
+                    settings = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 修改设置，值发生变化时延迟保存，null 表示删除
+     */
+    private static void put(String key, Object value) {
+        String prev = value != null
+                ? getSettings().put(key, String.valueOf(value))
+                : getSettings().remove(key);
+        if (!String.valueOf(prev).equals(String.valueOf(value))) {
+            dirtyKeys.add(key);
+            version.incrementAndGet();
+            scheduleSave();
         }
-        return settings;
     }
 
     // **************************************************
@@ -114,12 +165,12 @@ public class UserSettingsService {
      */
     public static void setWindowPosition(double x, double y, double width, double height, boolean maximized,
             String screensHash) {
-        getSettings().put(WINDOW_X, String.valueOf(x));
-        getSettings().put(WINDOW_Y, String.valueOf(y));
-        getSettings().put(WINDOW_WIDTH, String.valueOf(width));
-        getSettings().put(WINDOW_HEIGHT, String.valueOf(height));
-        getSettings().put(WINDOW_MAXIMIZED, String.valueOf(maximized));
-        getSettings().put(SCREENS_HASH, screensHash);
+        put(WINDOW_X, x);
+        put(WINDOW_Y, y);
+        put(WINDOW_WIDTH, width);
+        put(WINDOW_HEIGHT, height);
+        put(WINDOW_MAXIMIZED, maximized);
+        put(SCREENS_HASH, screensHash);
     }
 
     public static Optional<Double> getWindowX() {
@@ -155,7 +206,7 @@ public class UserSettingsService {
     }
 
     public static void setLocale(String str) {
-        getSettings().put(LOCALE, str);
+        put(LOCALE, str);
     }
 
     // **************************************************
@@ -167,7 +218,7 @@ public class UserSettingsService {
     }
 
     public static void setTheme(String theme) {
-        getSettings().put(THEME, theme);
+        put(THEME, theme);
         initTheme(); // 设置主题时同时应用
     }
 
@@ -191,6 +242,6 @@ public class UserSettingsService {
     }
 
     public static void setSavedText(String str) {
-        getSettings().put(DEMO, str);
+        put(DEMO, str);
     }
 }
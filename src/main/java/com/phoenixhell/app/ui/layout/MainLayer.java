@@ -9,6 +9,7 @@ import java.util.Objects;
 import javax.imageio.ImageIO;
 
 import com.phoenixhell.app.event.DefaultEventBus;
+import com.phoenixhell.app.event.DeliveryMode;
 import com.phoenixhell.app.event.HotkeyEvent;
 import com.phoenixhell.app.event.PageEvent;
 import com.phoenixhell.app.event.PageEvent.Action;
@@ -39,6 +40,13 @@ class MainLayer extends BorderPane {
     private final MainModel model = new MainModel();
     private final Sidebar sidebar = new Sidebar(model);
     private final StackPane subLayerPane = new StackPane();
+    private final PageCache pageCache = new PageCache(
+            Integer.getInteger("app.page-cache.max-entries", PageCache.DEFAULT_MAX_ENTRIES),
+            Integer.getInteger("app.page-cache.max-nodes", PageCache.DEFAULT_MAX_NODES));
+    private final PagePrewarmer pagePrewarmer = new PagePrewarmer(model, pageCache);
+    private final NavigationMetrics metrics = NavigationMetrics.getInstance();
+
+    private FadeTransition pageTransition;
 
     private CodeViewer codeViewer;
     private StackPane codeViewerWrapper;
@@ -128,7 +136,7 @@ class MainLayer extends BorderPane {
                     && model.currentSubLayerProperty().get() == SubLayer.SOURCE_CODE) {
                 showSourceCode();
             }
-        });
+        }, DeliveryMode.FX_COALESCED);
 
         // switch to the source code and back
         DefaultEventBus.getInstance().subscribe(PageEvent.class, e -> {
@@ -147,11 +155,14 @@ class MainLayer extends BorderPane {
                     .filter(c -> c instanceof Page)
                     .findFirst()
                     .orElse(null);
-            final Page nextPage = pageClass.getDeclaredConstructor().newInstance();
+            final Page nextPage = obtainPage(pageClass);
+            pagePrewarmer.pageChanged(prevPage != null ? prevPage.getClass() : null, pageClass);
 
             // startup, no prev page, no animation
             if (getScene() == null) {
                 subLayerPane.getChildren().add(nextPage.getView());
+                nextPage.onAttach();
+                metrics.pageAttached(nextPage);
                 return;
             }
 
@@ -160,23 +171,47 @@ class MainLayer extends BorderPane {
             // reset previous page, e.g. to free resources
             prevPage.reset();
 
+            // previous transition may still be running if user navigates fast
+            if (pageTransition != null) {
+                pageTransition.stop();
+            }
+
             // animate switching between pages
             subLayerPane.getChildren().add(nextPage.getView());
+            nextPage.onAttach();
+            metrics.pageAttached(nextPage);
             subLayerPane.getChildren().remove(prevPage.getView());
-            var transition = new FadeTransition(Duration.millis(PAGE_TRANSITION_DURATION), nextPage.getView());
-            transition.setFromValue(0.0);
-            transition.setToValue(1.0);
-            transition.setOnFinished(t -> {
+            prevPage.onDetach();
+            prevPage.getView().setOpacity(1.0);
+            pageCache.put(prevPage);
+
+            pageTransition = new FadeTransition(Duration.millis(PAGE_TRANSITION_DURATION), nextPage.getView());
+            pageTransition.setFromValue(0.0);
+            pageTransition.setToValue(1.0);
+            pageTransition.setOnFinished(t -> {
                 if (nextPage instanceof Pane nextPane) {
                     nextPane.toFront();
                 }
             });
-            transition.play();
+            pageTransition.play();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    // re-attaches cached page instance if any, otherwise creates a new one
+    private Page obtainPage(Class<? extends Page> pageClass) throws ReflectiveOperationException {
+        Page page = pageCache.take(pageClass);
+        if (page != null) {
+            return page;
+        }
+
+        long start = System.nanoTime();
+        page = pageClass.getDeclaredConstructor().newInstance();
+        metrics.recordConstruct(pageClass, System.nanoTime() - start);
+        return page;
+    }
+
     private void showSourceCode() {
         var sourceClass = Objects.requireNonNull(model.selectedPageProperty().get());
         var sourceFileName = sourceClass.getSimpleName() + ".java";
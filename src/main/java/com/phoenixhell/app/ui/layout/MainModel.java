@@ -3,6 +3,7 @@ package com.phoenixhell.app.ui.layout;
 import static com.phoenixhell.app.ui.layout.MainModel.SubLayer.PAGE;
 import static com.phoenixhell.app.ui.layout.MainModel.SubLayer.SOURCE_CODE;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,7 @@ import com.phoenixhell.app.ui.page.showcase.musicplayer.MusicPlayerPage;
 
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.scene.control.TreeItem;
 
 public class MainModel {
 
@@ -45,6 +47,35 @@ public class MainModel {
         return NAV_TREE.getOrDefault(pageClass, NAV_TREE.get(DEFAULT_PAGE));
     }
 
+    // Returns pages that are next to the given one in the navigation tree,
+    // the nearest first: next sibling, previous sibling and, for the last page
+    // in a group, the first page of the next group.
+    List<Class<? extends Page>> getAdjacentPages(Class<? extends Page> pageClass) {
+        var item = NAV_TREE.get(pageClass);
+        if (item == null) {
+            return List.of();
+        }
+
+        var result = new ArrayList<Class<? extends Page>>();
+        addPageClass(result, item.nextSibling());
+        addPageClass(result, item.previousSibling());
+
+        if (item.nextSibling() == null && item.getParent() != null) {
+            var nextGroup = item.getParent().nextSibling();
+            if (nextGroup != null && !nextGroup.getChildren().isEmpty()) {
+                addPageClass(result, nextGroup.getChildren().get(0));
+            }
+        }
+
+        return result;
+    }
+
+    private void addPageClass(List<Class<? extends Page>> list, TreeItem<Nav> treeItem) {
+        if (treeItem instanceof NavTree.Item item && !item.isGroup() && item.pageClass() != null) {
+            list.add(item.pageClass());
+        }
+    }
+
     List<NavTree.Item> findPages(String filter) {
         return NAV_TREE.values().stream()
                 .filter(item -> item.getValue() != null && item.getValue().matches(filter))
@@ -0,0 +1,206 @@
+package com.phoenixhell.app.ui.layout;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import com.phoenixhell.app.ui.page.Page;
+import com.phoenixhell.app.util.LatencyHistogram;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+
+/**
+ * Collects per-page navigation latency.
+ *
+ * <p>
+ * Every navigation is split into three phases, each one has its own histogram:
+ * <ul>
+ * <li>{@link Phase#CONSTRUCT} - page constructor time, only recorded when the
+ * page wasn't taken from the cache;</li>
+ * <li>{@link Phase#LAYOUT} - time from attaching the page to the end of its first
+ * CSS/layout pass (see {@code onRendered()} in the page base classes);</li>
+ * <li>{@link Phase#RENDER} - time from attaching the page to the first pulse
+ * after the page was laid out, i.e. when its first frame was rendered.</li>
+ * </ul>
+ * All methods must be called on the FX thread.
+ */
+public final class NavigationMetrics {
+
+    public enum Phase {
+        CONSTRUCT,
+        LAYOUT,
+        RENDER
+    }
+
+    // stop probing if page was never laid out, e.g. the window is hidden
+    private static final long PROBE_TIMEOUT = 10_000_000_000L; // ns
+
+    private final Map<Class<? extends Page>, EnumMap<Phase, LatencyHistogram>> histograms = new HashMap<>();
+    private final Map<Page, Probe> probes = new HashMap<>();
+
+    private NavigationMetrics() {
+    }
+
+    public void recordConstruct(Class<? extends Page> pageClass, long nanos) {
+        histogram(pageClass, Phase.CONSTRUCT).record(nanos);
+    }
+
+    /**
+     * Must be called right after the page view was attached to the scene graph.
+     */
+    public void pageAttached(Page page) {
+        Objects.requireNonNull(page, "page");
+
+        var prev = probes.remove(page);
+        if (prev != null) {
+            prev.cancel();
+        }
+
+        var probe = new Probe(page, System.nanoTime());
+        probes.put(page, probe);
+        probe.start();
+    }
+
+    /**
+     * Must be called when the page finished its first layout pass.
+     * Pages that don't report it are measured by the end of the scene layout pass.
+     */
+    public void pageLaidOut(Page page) {
+        var probe = probes.get(page);
+        if (probe != null) {
+            probe.laidOut();
+        }
+    }
+
+    public LatencyHistogram getHistogram(Class<? extends Page> pageClass, Phase phase) {
+        return histogram(pageClass, phase);
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    public String toCsv() {
+        var sb = new StringBuilder("page,phase,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms\n");
+
+        histograms.entrySet().stream()
+                .sorted(Comparator.comparing(e -> e.getKey().getSimpleName()))
+                .forEach(e -> e.getValue().forEach((phase, h) -> {
+                    if (h.getCount() == 0) {
+                        return;
+                    }
+                    sb.append(e.getKey().getSimpleName()).append(',')
+                            .append(phase.name()).append(',')
+                            .append(h.getCount()).append(',')
+                            .append(toMillis(h.getMeanNanos())).append(',')
+                            .append(toMillis(h.getPercentileNanos(50))).append(',')
+                            .append(toMillis(h.getPercentileNanos(90))).append(',')
+                            .append(toMillis(h.getPercentileNanos(99))).append(',')
+                            .append(toMillis(h.getMaxNanos())).append('\n');
+                }));
+
+        return sb.toString();
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        Objects.requireNonNull(path, "path");
+        Files.writeString(path, toCsv(), UTF_8);
+    }
+
+    private LatencyHistogram histogram(Class<? extends Page> pageClass, Phase phase) {
+        Objects.requireNonNull(pageClass, "pageClass");
+        return histograms
+                .computeIfAbsent(pageClass, k -> new EnumMap<>(Phase.class))
+                .computeIfAbsent(phase, k -> new LatencyHistogram());
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    // Tracks a single navigation. Post-layout pulse listener marks the end of the
+    // scene layout pass, and the next animation pulse means the frame of that
+    // layout pass was rendered.
+    private final class Probe extends AnimationTimer {
+
+        private final Page page;
+        private final long attachedAt;
+        private final Runnable postLayoutListener = this::laidOut;
+        private Scene scene;
+        private boolean laidOut = false;
+
+        Probe(Page page, long attachedAt) {
+            this.page = page;
+            this.attachedAt = attachedAt;
+        }
+
+        @Override
+        public void start() {
+            scene = page.getView().getScene();
+            if (scene != null) {
+                scene.addPostLayoutPulseListener(postLayoutListener);
+            }
+            super.start();
+        }
+
+        void laidOut() {
+            if (laidOut) {
+                return;
+            }
+            laidOut = true;
+            histogram(page.getClass(), Phase.LAYOUT).record(System.nanoTime() - attachedAt);
+        }
+
+        @Override
+        public void handle(long now) {
+            long elapsed = System.nanoTime() - attachedAt;
+            if (laidOut) {
+                histogram(page.getClass(), Phase.RENDER).record(elapsed);
+                finish();
+            } else if (elapsed > PROBE_TIMEOUT) {
+                finish();
+            }
+        }
+
+        void cancel() {
+            stop();
+            removeListener();
+        }
+
+        private void finish() {
+            cancel();
+            probes.remove(page, this);
+        }
+
+        // not removed from the listener itself, because scene
+        // is iterating over listeners at that moment
+        private void removeListener() {
+            if (scene != null) {
+                scene.removePostLayoutPulseListener(postLayoutListener);
+                scene = null;
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static class InstanceHolder {
+
+        private static final NavigationMetrics INSTANCE = new NavigationMetrics();
+    }
+
+    public static NavigationMetrics getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+}
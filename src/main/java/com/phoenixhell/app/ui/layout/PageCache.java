@@ -0,0 +1,150 @@
+package com.phoenixhell.app.ui.layout;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.phoenixhell.app.ui.page.Page;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * LRU cache of detached page instances.
+ *
+ * <p>
+ * Only pages that are not currently attached to the scene graph are kept here.
+ * A page is put into the cache right after it was detached (and reset), and
+ * taken out of it when the user navigates back, so revisiting a page costs
+ * a re-attach instead of a full construction.
+ *
+ * <p>
+ * The cache is bounded by the number of entries and by the total number of
+ * scene graph nodes retained by the cached pages. The node count is a cheap
+ * proxy of the page memory footprint, it's measured when the page is put into
+ * the cache, i.e. after it was rendered at least once.
+ *
+ * <p>
+ * The cache owns the pages put into it: a page that is refused or evicted
+ * is {@link Page#dispose() disposed}, because nobody else references it.
+ */
+final class PageCache {
+
+    static final int DEFAULT_MAX_ENTRIES = 8;
+    static final int DEFAULT_MAX_NODES = 50_000;
+
+    private final int maxEntries;
+    private final int maxNodes;
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<Class<? extends Page>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int totalNodes = 0;
+
+    public PageCache(int maxEntries, int maxNodes) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxNodes = Math.max(0, maxNodes);
+    }
+
+    /**
+     * Removes the page of the given type from the cache and returns it,
+     * or returns null if there is no such page.
+     */
+    public @Nullable Page take(Class<? extends Page> pageClass) {
+        Objects.requireNonNull(pageClass, "pageClass");
+
+        var entry = entries.remove(pageClass);
+        if (entry == null) {
+            return null;
+        }
+
+        totalNodes -= entry.nodes();
+        return entry.page();
+    }
+
+    /**
+     * Puts a detached page into the cache, unless the page opted out of caching.
+     * Evicts the least recently used pages if the cache is over budget.
+     *
+     * @return false if the page wasn't cached (opted out or too large)
+     */
+    public boolean put(Page page) {
+        Objects.requireNonNull(page, "page");
+
+        if (!page.canBeCached() || maxEntries == 0) {
+            page.dispose();
+            return false;
+        }
+
+        int nodes = countNodes(page.getView());
+        if (nodes > maxNodes) {
+            page.dispose();
+            return false;
+        }
+
+        var prev = entries.put(page.getClass(), new Entry(page, nodes));
+        if (prev != null) {
+            totalNodes -= prev.nodes();
+            if (prev.page() != page) {
+                prev.page().dispose();
+            }
+        }
+        totalNodes += nodes;
+
+        evict();
+        return entries.containsKey(page.getClass());
+    }
+
+    public boolean contains(Class<? extends Page> pageClass) {
+        // don't use get(), it changes access order
+        return entries.containsKey(pageClass);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getTotalNodes() {
+        return totalNodes;
+    }
+
+    public void clear() {
+        entries.values().forEach(entry -> entry.page().dispose());
+        entries.clear();
+        totalNodes = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Class<? extends Page>, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext() && (entries.size() > maxEntries || totalNodes > maxNodes)) {
+            var eldest = it.next().getValue();
+            it.remove();
+            totalNodes -= eldest.nodes();
+            eldest.page().dispose();
+        }
+    }
+
+    static int countNodes(Parent root) {
+        int count = 0;
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            count++;
+            if (node instanceof Parent parent) {
+                queue.addAll(parent.getChildrenUnmodifiable());
+            }
+        }
+
+        return count;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private record Entry(Page page, int nodes) {
+    }
+}
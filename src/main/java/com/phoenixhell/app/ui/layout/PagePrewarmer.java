@@ -0,0 +1,173 @@
+package com.phoenixhell.app.ui.layout;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.phoenixhell.app.service.system.TaskService;
+import com.phoenixhell.app.ui.page.Page;
+import com.phoenixhell.app.ui.page.Prewarmable;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
+import javafx.util.Duration;
+
+/**
+ * Constructs the pages the user is likely to open next while the app is idle.
+ *
+ * <p>
+ * Scene graph nodes don't require the FX thread until they're attached to the
+ * scene, so predicted pages are constructed in the background and handed over
+ * to the {@link PageCache}, where the navigator picks them up ready to attach.
+ * Only pages annotated with {@link Prewarmable} are constructed this way, the
+ * rest are always created on demand.
+ *
+ * <p>
+ * Prediction is based on the navigation history (most frequent transitions
+ * from the current page first) and then on the navigation tree adjacency,
+ * which covers the common sidebar walk-through.
+ */
+final class PagePrewarmer {
+
+    static final int IDLE_DELAY = 1500; // ms
+    static final int MAX_PREDICTIONS = 2;
+    static final int HISTORY_SIZE = 50;
+
+    // one page at a time, so prewarming never takes more than one worker
+    private static final Executor EXECUTOR = TaskService.getInstance().newSerialComputeExecutor();
+
+    private final MainModel model;
+    private final PageCache pageCache;
+    private final PauseTransition idleTimer = new PauseTransition(Duration.millis(IDLE_DELAY));
+    private final Deque<Class<? extends Page>> history = new ArrayDeque<>();
+    private final Map<Class<? extends Page>, Map<Class<? extends Page>, Integer>> transitions = new HashMap<>();
+    private final Set<Class<? extends Page>> inProgress = new HashSet<>();
+    // pages that failed to be constructed off the FX thread or were refused
+    // by the cache, never retried
+    private final Set<Class<? extends Page>> rejected = new HashSet<>();
+
+    private boolean enabled = !Boolean.getBoolean("app.page-prewarm.disabled");
+
+    public PagePrewarmer(MainModel model, PageCache pageCache) {
+        this.model = Objects.requireNonNull(model, "model");
+        this.pageCache = Objects.requireNonNull(pageCache, "pageCache");
+
+        idleTimer.setOnFinished(e -> prewarm());
+    }
+
+    /**
+     * Must be called on every navigation. Records the transition and restarts
+     * idle timer, so the prewarming never competes with the page switch itself.
+     */
+    public void pageChanged(@Nullable Class<? extends Page> prev, Class<? extends Page> next) {
+        Objects.requireNonNull(next, "next");
+
+        if (prev != null && prev != next) {
+            transitions.computeIfAbsent(prev, k -> new HashMap<>()).merge(next, 1, Integer::sum);
+        }
+
+        history.addLast(next);
+        if (history.size() > HISTORY_SIZE) {
+            var eldest = history.removeFirst();
+            var eldestNext = history.peekFirst();
+            if (eldestNext != null) {
+                forget(eldest, eldestNext);
+            }
+        }
+
+        if (enabled) {
+            idleTimer.playFromStart();
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            idleTimer.stop();
+        }
+    }
+
+    List<Class<? extends Page>> predict(Class<? extends Page> current) {
+        var result = new LinkedHashSet<Class<? extends Page>>();
+
+        transitions.getOrDefault(current, Map.of()).entrySet().stream()
+                .sorted(Map.Entry.<Class<? extends Page>, Integer>comparingByValue(Comparator.reverseOrder()))
+                .map(Map.Entry::getKey)
+                .forEach(result::add);
+        result.addAll(model.getAdjacentPages(current));
+        result.remove(current);
+
+        return result.stream().limit(MAX_PREDICTIONS).toList();
+    }
+
+    private void prewarm() {
+        var current = model.selectedPageProperty().get();
+        if (current == null) {
+            return;
+        }
+
+        for (var pageClass : predict(current)) {
+            if (!pageClass.isAnnotationPresent(Prewarmable.class)
+                    || pageCache.contains(pageClass)
+                    || inProgress.contains(pageClass)
+                    || rejected.contains(pageClass)) {
+                continue;
+            }
+            submit(pageClass);
+        }
+    }
+
+    private void submit(Class<? extends Page> pageClass) {
+        var task = new Task<Page>() {
+            @Override
+            protected Page call() throws Exception {
+                return pageClass.getDeclaredConstructor().newInstance();
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            inProgress.remove(pageClass);
+            // user may have navigated to the page while it was constructed
+            if (model.selectedPageProperty().get() != pageClass && !pageCache.contains(pageClass)) {
+                // not cacheable or too large, constructing it again would be wasted as well
+                if (!pageCache.put(task.getValue())) {
+                    rejected.add(pageClass);
+                }
+            } else {
+                task.getValue().dispose();
+            }
+        });
+
+        task.setOnFailed(e -> {
+            inProgress.remove(pageClass);
+            rejected.add(pageClass);
+            System.err.println("[WARNING] Unable to prewarm page \"" + pageClass.getSimpleName()
+                    + "\" in the background, it will be created on demand.");
+        });
+
+        inProgress.add(pageClass);
+        EXECUTOR.execute(task);
+    }
+
+    private void forget(Class<? extends Page> from, Class<? extends Page> to) {
+        var counts = transitions.get(from);
+        if (counts == null) {
+            return;
+        }
+
+        counts.computeIfPresent(to, (k, v) -> v > 1 ? v - 1 : null);
+        if (counts.isEmpty()) {
+            transitions.remove(from);
+        }
+    }
+}
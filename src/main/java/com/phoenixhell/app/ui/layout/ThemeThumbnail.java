@@ -1,11 +1,15 @@
 package com.phoenixhell.app.ui.layout;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 
+import com.phoenixhell.app.service.system.TaskService;
 import com.phoenixhell.app.ui.theme.SamplerTheme;
+import com.phoenixhell.app.ui.theme.ThemeColorIndex;
 
 import atlantafx.base.theme.Styles;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.css.PseudoClass;
@@ -29,41 +33,58 @@ public final class ThemeThumbnail extends VBox implements Toggle {
 
         toggle = new RadioButton();
 
-        try {
-            Map<String, String> colors = theme.parseColors();
-
-            var circles = new HBox(
-                    createCircle(colors.get("-color-fg-default"), colors.get("-color-fg-default"), false),
-                    createCircle(colors.get("-color-fg-default"), colors.get("-color-accent-emphasis"), true),
-                    createCircle(colors.get("-color-fg-default"), colors.get("-color-success-emphasis"), true),
-                    createCircle(colors.get("-color-fg-default"), colors.get("-color-danger-emphasis"), true),
-                    createCircle(colors.get("-color-fg-default"), colors.get("-color-warning-emphasis"), true));
-            circles.setAlignment(Pos.CENTER);
-
-            var nameLbl = new Label(theme.getName());
-            nameLbl.getStyleClass().add(Styles.TEXT_CAPTION);
-            Styles.appendStyle(nameLbl, "-fx-text-fill", colors.get("-color-fg-muted"));
-
-            setStyle("""
-                    -fx-background-radius: 10px, 8px;
-                    -fx-background-insets: 0, 3px
-                    """);
-            Styles.appendStyle(
-                    this,
-                    "-fx-background-color",
-                    "-color-thumbnail-border," + colors.get("-color-bg-default"));
-            setOnMouseClicked(e -> setSelected(true));
-            getStyleClass().add("theme-thumbnail");
-            getChildren().setAll(nameLbl, circles);
-
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage(), e);
+        setStyle("""
+                -fx-background-radius: 10px, 8px;
+                -fx-background-insets: 0, 3px
+                """);
+        setOnMouseClicked(e -> setSelected(true));
+        getStyleClass().add("theme-thumbnail");
+
+        // colors are computed on startup, so parsing is only needed for just added or modified themes
+        Map<String, String> colors = ThemeColorIndex.getInstance().getIfPresent(theme);
+        if (colors != null) {
+            setColors(theme, colors);
+        } else {
+            TaskService.getInstance().computeAsync(() -> {
+                try {
+                    return theme.parseColors();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).whenComplete((result, e) -> Platform.runLater(() -> {
+                if (e != null) {
+                    System.err.println("[WARNING] Unable to parse colors of the \"" + theme.getName() + "\" theme.");
+                    setColors(theme, Map.of());
+                } else {
+                    setColors(theme, result);
+                }
+            }));
         }
 
         selectedProperty().addListener(
                 (obs, old, val) -> pseudoClassStateChanged(SELECTED, val));
     }
 
+    private void setColors(SamplerTheme theme, Map<String, String> colors) {
+        var circles = new HBox(
+                createCircle(colors.get("-color-fg-default"), colors.get("-color-fg-default"), false),
+                createCircle(colors.get("-color-fg-default"), colors.get("-color-accent-emphasis"), true),
+                createCircle(colors.get("-color-fg-default"), colors.get("-color-success-emphasis"), true),
+                createCircle(colors.get("-color-fg-default"), colors.get("-color-danger-emphasis"), true),
+                createCircle(colors.get("-color-fg-default"), colors.get("-color-warning-emphasis"), true));
+        circles.setAlignment(Pos.CENTER);
+
+        var nameLbl = new Label(theme.getName());
+        nameLbl.getStyleClass().add(Styles.TEXT_CAPTION);
+        Styles.appendStyle(nameLbl, "-fx-text-fill", colors.get("-color-fg-muted"));
+
+        Styles.appendStyle(
+                this,
+                "-fx-background-color",
+                "-color-thumbnail-border," + colors.get("-color-bg-default"));
+        getChildren().setAll(nameLbl, circles);
+    }
+
     private Circle createCircle(String borderColor, String bgColor, boolean overlap) {
         var circle = new Circle(10);
         Styles.appendStyle(circle, "-fx-stroke", borderColor);
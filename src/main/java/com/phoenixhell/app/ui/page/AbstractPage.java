@@ -4,9 +4,13 @@ import static javafx.scene.control.ScrollPane.ScrollBarPolicy.AS_NEEDED;
 import static javafx.scene.control.ScrollPane.ScrollBarPolicy.NEVER;
 
 import java.net.URI;
+import java.util.function.Consumer;
 
 import org.jetbrains.annotations.Nullable;
 
+import com.phoenixhell.app.event.DeliveryMode;
+import com.phoenixhell.app.event.Event;
+import com.phoenixhell.app.ui.layout.NavigationMetrics;
 import com.phoenixhell.app.util.ui.NodeUtils;
 
 import atlantafx.base.util.BBCodeParser;
@@ -21,6 +25,7 @@ public abstract class AbstractPage extends StackPane implements Page {
 
     protected final VBox userContent = new VBox();
     protected final StackPane userContentArea = new StackPane(userContent);
+    protected final PageLifecycle lifecycle = new PageLifecycle();
     protected boolean isRendered = false;
 
     protected AbstractPage() {
@@ -68,6 +73,21 @@ public abstract class AbstractPage extends StackPane implements Page {
     public void reset() {
     }
 
+    @Override
+    public void onAttach() {
+        lifecycle.attach();
+    }
+
+    @Override
+    public void onDetach() {
+        lifecycle.detach();
+    }
+
+    @Override
+    public void dispose() {
+        lifecycle.dispose();
+    }
+
     @Override
     protected void layoutChildren() {
         super.layoutChildren();
@@ -77,6 +97,7 @@ public abstract class AbstractPage extends StackPane implements Page {
 
         isRendered = true;
         onRendered();
+        NavigationMetrics.getInstance().pageLaidOut(this);
     }
 
     // Some properties can only be obtained after node placed
@@ -84,6 +105,17 @@ public abstract class AbstractPage extends StackPane implements Page {
     protected void onRendered() {
     }
 
+    // the subscription only exists while the page is attached
+    protected <E extends Event> void subscribe(Class<? extends E> eventType, Consumer<E> subscriber) {
+        lifecycle.subscribe(eventType, subscriber);
+    }
+
+    protected <E extends Event> void subscribe(Class<? extends E> eventType,
+                                               Consumer<E> subscriber,
+                                               DeliveryMode mode) {
+        lifecycle.subscribe(eventType, subscriber, mode);
+    }
+
     protected void addPageHeader() {
         var pageHeader = new PageHeader(this);
         userContent.getChildren().add(pageHeader);
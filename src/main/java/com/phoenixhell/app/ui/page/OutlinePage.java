@@ -4,15 +4,21 @@ import static javafx.scene.control.ScrollPane.ScrollBarPolicy.AS_NEEDED;
 import static javafx.scene.control.ScrollPane.ScrollBarPolicy.NEVER;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.jetbrains.annotations.Nullable;
 import org.kordamp.ikonli.feather.Feather;
 import org.kordamp.ikonli.javafx.FontIcon;
 
+import com.phoenixhell.app.event.DeliveryMode;
+import com.phoenixhell.app.event.Event;
+import com.phoenixhell.app.ui.layout.NavigationMetrics;
 import com.phoenixhell.app.util.ui.NodeUtils;
 
 import atlantafx.base.theme.Styles;
@@ -34,13 +40,24 @@ import javafx.scene.text.Text;
 public abstract class OutlinePage extends StackPane implements Page {
 
     protected static final int OUTLINE_WIDTH = 200;
+    protected static final int DEFAULT_SECTION_HEIGHT = 400;
+
+    // sections are built eagerly until their estimated total height
+    // exceeds this value, that's roughly the first screen
+    private static final int EAGER_SECTIONS_HEIGHT = 1200;
 
     protected final ScrollPane scrollPane = new ScrollPane();
     protected final VBox userContent = new VBox();
     protected final StackPane userContentArea = new StackPane(userContent);
     protected final Outline outline = new Outline(createOutlineHandler());
+    protected final PageLifecycle lifecycle = new PageLifecycle();
     protected boolean isRendered = false;
 
+    // lazy sections that weren't materialized yet, in the declaration order
+    private final List<SectionPlaceholder> pendingSections = new ArrayList<>();
+    private double estimatedSectionsHeight = 0;
+    private boolean materializeScheduled = false;
+
     protected OutlinePage() {
         super();
 
@@ -62,7 +79,11 @@ public abstract class OutlinePage extends StackPane implements Page {
         // scroll spy
         scrollPane.vvalueProperty().addListener((obs, old, val) ->
         // we need a little gap between changing vValue and fetching header bounds
-        Platform.runLater(() -> outline.select(getFirstVisibleHeader())));
+        Platform.runLater(() -> {
+            materializeVisibleSections();
+            outline.select(getFirstVisibleHeader());
+        }));
+        scrollPane.viewportBoundsProperty().addListener((obs, old, val) -> scheduleMaterialize());
 
         var pageBody = new StackPane();
         pageBody.getChildren().setAll(scrollPane, outline);
@@ -77,6 +98,13 @@ public abstract class OutlinePage extends StackPane implements Page {
     protected Consumer<Heading> createOutlineHandler() {
         return heading -> {
             if (!Objects.equals(heading, Heading.TOP)) {
+                // all sections above the target must have their real size,
+                // otherwise the target will move after being scrolled to
+                if (materializeUpTo(heading.anchor())) {
+                    scrollPane.applyCss();
+                    scrollPane.layout();
+                }
+
                 Parent container = heading.anchor().getParent();
                 int indexInParent = container.getChildrenUnmodifiable().indexOf(heading.anchor());
 
@@ -123,6 +151,84 @@ public abstract class OutlinePage extends StackPane implements Page {
         return lastHeading != null ? lastHeading.getText() : null;
     }
 
+    // Materializes pending sections that are above the viewport bottom edge
+    // plus one more screen, so scrolling down never shows an empty placeholder.
+    // Sections above the viewport are materialized too, to prevent the content
+    // from jumping when the user scrolls back up.
+    private void materializeVisibleSections() {
+        if (pendingSections.isEmpty() || getScene() == null) {
+            return;
+        }
+
+        var viewportBounds = scrollPane.localToScene(scrollPane.getLayoutBounds());
+        double limitY = viewportBounds.getMaxY() + viewportBounds.getHeight();
+
+        boolean changed = false;
+        var it = pendingSections.iterator();
+        while (it.hasNext()) {
+            var placeholder = it.next();
+            var bounds = placeholder.localToScene(placeholder.getLayoutBounds());
+            if (bounds.getMinY() > limitY) {
+                break; // placeholders are ordered, the rest is even lower
+            }
+
+            placeholder.materialize();
+            it.remove();
+            changed = true;
+        }
+
+        // real section heights differ from the estimated ones,
+        // repeat the check when the new layout is ready
+        if (changed) {
+            scheduleMaterialize();
+        }
+    }
+
+    private boolean materializeUpTo(Node anchor) {
+        int anchorIndex = userContent.getChildren().indexOf(anchor);
+        if (anchorIndex < 0) {
+            return false;
+        }
+
+        boolean changed = false;
+        var it = pendingSections.iterator();
+        while (it.hasNext()) {
+            var placeholder = it.next();
+            if (userContent.getChildren().indexOf(placeholder) > anchorIndex + 1) {
+                break;
+            }
+
+            placeholder.materialize();
+            it.remove();
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    private void scheduleMaterialize() {
+        if (materializeScheduled || pendingSections.isEmpty()) {
+            return;
+        }
+
+        materializeScheduled = true;
+        Platform.runLater(() -> {
+            materializeScheduled = false;
+            materializeVisibleSections();
+        });
+    }
+
+    // the subscription only exists while the page is attached
+    protected <E extends Event> void subscribe(Class<? extends E> eventType, Consumer<E> subscriber) {
+        lifecycle.subscribe(eventType, subscriber);
+    }
+
+    protected <E extends Event> void subscribe(Class<? extends E> eventType,
+                                               Consumer<E> subscriber,
+                                               DeliveryMode mode) {
+        lifecycle.subscribe(eventType, subscriber, mode);
+    }
+
     protected void addPageHeader() {
         var pageHeader = new PageHeader(this);
         userContent.getChildren().add(pageHeader);
@@ -154,6 +260,36 @@ public abstract class OutlinePage extends StackPane implements Page {
         outline.add(new Heading(title, titleLabel));
     }
 
+    protected void addSection(String title, Supplier<? extends Node> contentFactory) {
+        addSection(title, contentFactory, DEFAULT_SECTION_HEIGHT);
+    }
+
+    /**
+     * Adds a section which content is only built when it approaches the viewport.
+     * Until then, the section is represented by an empty placeholder of the
+     * estimated height, while its heading is always present, so that the outline
+     * navigation works as usual.
+     *
+     * <p>
+     * Content factory must not depend on other lazy sections being built.
+     *
+     * @param estimatedHeight the approximate section content height,
+     *                        used to keep the scroll bar stable
+     */
+    protected void addSection(String title, Supplier<? extends Node> contentFactory, double estimatedHeight) {
+        Objects.requireNonNull(contentFactory, "contentFactory");
+
+        if (estimatedSectionsHeight < EAGER_SECTIONS_HEIGHT) {
+            estimatedSectionsHeight += estimatedHeight;
+            addSection(title, contentFactory.get());
+            return;
+        }
+
+        var placeholder = new SectionPlaceholder(contentFactory, estimatedHeight);
+        pendingSections.add(placeholder);
+        addSection(title, placeholder);
+    }
+
     @Override
     public Pane getView() {
         return this;
@@ -178,6 +314,21 @@ public abstract class OutlinePage extends StackPane implements Page {
     public void reset() {
     }
 
+    @Override
+    public void onAttach() {
+        lifecycle.attach();
+    }
+
+    @Override
+    public void onDetach() {
+        lifecycle.detach();
+    }
+
+    @Override
+    public void dispose() {
+        lifecycle.dispose();
+    }
+
     @Override
     protected void layoutChildren() {
         super.layoutChildren();
@@ -187,6 +338,8 @@ public abstract class OutlinePage extends StackPane implements Page {
 
         isRendered = true;
         onRendered();
+        NavigationMetrics.getInstance().pageLaidOut(this);
+        scheduleMaterialize();
     }
 
     // Some properties can only be obtained after node placed
@@ -196,6 +349,34 @@ public abstract class OutlinePage extends StackPane implements Page {
 
     ///////////////////////////////////////////////////////////////////////////
 
+    private static final class SectionPlaceholder extends StackPane {
+
+        private @Nullable Supplier<? extends Node> contentFactory;
+
+        public SectionPlaceholder(Supplier<? extends Node> contentFactory, double estimatedHeight) {
+            super();
+
+            this.contentFactory = contentFactory;
+
+            setMinHeight(estimatedHeight);
+            setPrefHeight(estimatedHeight);
+            setAlignment(Pos.TOP_LEFT);
+        }
+
+        public void materialize() {
+            if (contentFactory == null) {
+                return;
+            }
+
+            var content = contentFactory.get();
+            contentFactory = null;
+
+            setMinHeight(USE_COMPUTED_SIZE);
+            setPrefHeight(USE_COMPUTED_SIZE);
+            getChildren().setAll(content);
+        }
+    }
+
     public record Heading(String title, Node anchor) {
 
         private static final Heading TOP = new Heading("Top", new Text());
@@ -62,6 +62,26 @@ public interface Page {
 
     void reset();
 
+    // Called right after the page view was attached to the scene graph.
+    default void onAttach() {
+    }
+
+    // Called right after the page view was detached from the scene graph.
+    // The page may be attached again later, e.g. if it was cached.
+    default void onDetach() {
+    }
+
+    // Called when the page instance is discarded and will never be attached
+    // again. This is the place to release anything onDetach() has kept.
+    default void dispose() {
+    }
+
+    // Whether the page instance can be kept in memory after it was detached
+    // and re-attached on the next visit instead of being constructed again.
+    default boolean canBeCached() {
+        return true;
+    }
+
     default <T> List<T> generate(Supplier<T> supplier, int count) {
         return Stream.generate(supplier).limit(count).toList();
     }
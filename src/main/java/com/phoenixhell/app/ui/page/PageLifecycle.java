@@ -0,0 +1,65 @@
+package com.phoenixhell.app.ui.page;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.phoenixhell.app.event.DeliveryMode;
+import com.phoenixhell.app.event.Event;
+
+/**
+ * Everything a page holds only while it's attached to the scene graph:
+ * event bus subscriptions and background tasks.
+ *
+ * <p>
+ * Page base classes delegate their {@link Page#onAttach()}, {@link Page#onDetach()}
+ * and {@link Page#dispose()} callbacks here, so a detached page neither receives
+ * events nor keeps its work running, whatever base class it extends.
+ */
+public final class PageLifecycle {
+
+    private final PageSubscriptions subscriptions;
+    private final PageTasks tasks;
+
+    public PageLifecycle() {
+        this(new PageSubscriptions(), new PageTasks());
+    }
+
+    public PageLifecycle(PageSubscriptions subscriptions, PageTasks tasks) {
+        this.subscriptions = Objects.requireNonNull(subscriptions, "subscriptions");
+        this.tasks = Objects.requireNonNull(tasks, "tasks");
+    }
+
+    // the subscription only exists while the page is attached
+    public <E extends Event> void subscribe(Class<? extends E> eventType, Consumer<E> subscriber) {
+        subscriptions.add(eventType, subscriber);
+    }
+
+    public <E extends Event> void subscribe(Class<? extends E> eventType,
+                                            Consumer<E> subscriber,
+                                            DeliveryMode mode) {
+        subscriptions.add(eventType, subscriber, mode);
+    }
+
+    // tasks still running are cancelled when the page is detached
+    public PageTasks getTasks() {
+        return tasks;
+    }
+
+    public void attach() {
+        subscriptions.attach();
+    }
+
+    public void detach() {
+        subscriptions.detach();
+        tasks.cancelAll();
+    }
+
+    public void dispose() {
+        subscriptions.dispose();
+        tasks.cancelAll();
+    }
+
+    public boolean isAttached() {
+        return subscriptions.isAttached();
+    }
+}
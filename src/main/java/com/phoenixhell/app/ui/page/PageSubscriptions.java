@@ -0,0 +1,96 @@
+package com.phoenixhell.app.ui.page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.phoenixhell.app.event.DefaultEventBus;
+import com.phoenixhell.app.event.DeliveryMode;
+import com.phoenixhell.app.event.Event;
+import com.phoenixhell.app.event.EventBus;
+import com.phoenixhell.app.event.Subscription;
+
+/**
+ * Event bus subscriptions scoped to the page lifecycle.
+ *
+ * <p>
+ * Subscriptions are declared once, usually in the page constructor, but they
+ * only exist on the event bus while the page is attached. Detached (e.g. cached)
+ * pages don't receive any events and are not reachable from the event bus,
+ * so they can be garbage collected as soon as they're discarded.
+ */
+public final class PageSubscriptions {
+
+    private final EventBus eventBus;
+    private final List<Entry<?>> entries = new ArrayList<>();
+    private final List<Subscription> active = new ArrayList<>();
+    private boolean attached = false;
+    private boolean disposed = false;
+
+    public PageSubscriptions() {
+        this(DefaultEventBus.getInstance());
+    }
+
+    public PageSubscriptions(EventBus eventBus) {
+        this.eventBus = Objects.requireNonNull(eventBus, "eventBus");
+    }
+
+    public <E extends Event> void add(Class<? extends E> eventType, Consumer<E> subscriber) {
+        add(eventType, subscriber, DeliveryMode.SYNC);
+    }
+
+    public <E extends Event> void add(Class<? extends E> eventType, Consumer<E> subscriber, DeliveryMode mode) {
+        Objects.requireNonNull(eventType, "eventType");
+        Objects.requireNonNull(subscriber, "subscriber");
+        Objects.requireNonNull(mode, "mode");
+
+        if (disposed) {
+            throw new IllegalStateException("Page subscriptions are already disposed.");
+        }
+
+        var entry = new Entry<E>(eventType, subscriber, mode);
+        entries.add(entry);
+        if (attached) {
+            active.add(entry.subscribe(eventBus));
+        }
+    }
+
+    public void attach() {
+        if (attached || disposed) {
+            return;
+        }
+
+        entries.forEach(entry -> active.add(entry.subscribe(eventBus)));
+        attached = true;
+    }
+
+    public void detach() {
+        if (!attached) {
+            return;
+        }
+
+        active.forEach(Subscription::unsubscribe);
+        active.clear();
+        attached = false;
+    }
+
+    public void dispose() {
+        detach();
+        entries.clear();
+        disposed = true;
+    }
+
+    public boolean isAttached() {
+        return attached;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private record Entry<E extends Event>(Class<? extends E> eventType, Consumer<E> subscriber, DeliveryMode mode) {
+
+        Subscription subscribe(EventBus eventBus) {
+            return eventBus.subscribe(eventType, subscriber, mode);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.phoenixhell.app.ui.page;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+
+import com.phoenixhell.app.service.system.TaskService;
+
+import javafx.concurrent.Task;
+
+/**
+ * Background tasks scoped to the page lifecycle.
+ *
+ * <p>
+ * Tasks are executed by the {@link TaskService}, but they are tracked by the
+ * page, and those still running are cancelled (and interrupted) when the page
+ * is detached, so leaving a page never leaves its work behind.
+ */
+public final class PageTasks {
+
+    private final TaskService taskService;
+    private final Set<FutureTask<?>> running = ConcurrentHashMap.newKeySet();
+
+    public PageTasks() {
+        this(TaskService.getInstance());
+    }
+
+    public PageTasks(TaskService taskService) {
+        this.taskService = Objects.requireNonNull(taskService, "taskService");
+    }
+
+    /**
+     * Executes the task on a virtual thread.
+     */
+    public void execute(Task<?> task) {
+        Objects.requireNonNull(task, "task");
+        running.add(task);
+        taskService.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                running.remove(task);
+            }
+        });
+    }
+
+    public void execute(Runnable action) {
+        Objects.requireNonNull(action, "action");
+        var task = new FutureTask<Void>(action, null) {
+            @Override
+            protected void done() {
+                running.remove(this);
+            }
+        };
+        running.add(task);
+        taskService.execute(task);
+    }
+
+    public void cancelAll() {
+        for (FutureTask<?> task : running) {
+            task.cancel(true);
+        }
+        running.clear();
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.phoenixhell.app.ui.page;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a page that can be constructed off the FX thread, so it may be
+ * prewarmed in the background before the user navigates to it.
+ *
+ * <p>
+ * Only annotate pages whose constructor builds plain scene graph nodes:
+ * no {@code WebView}, windows or popups, animations, media, or access to
+ * shared state that is only updated on the FX thread. The page must also
+ * be cacheable, see {@link Page#canBeCached()}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Prewarmable {
+}
@@ -7,6 +7,7 @@ import org.kordamp.ikonli.material2.Material2AL;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.Breadcrumbs;
@@ -18,6 +19,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 
+@Prewarmable
 public final class BreadcrumbsPage extends OutlinePage {
 
     public static final String NAME = "Breadcrumbs";
@@ -6,6 +6,7 @@ import org.kordamp.ikonli.material2.Material2AL;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.theme.Styles;
@@ -16,6 +17,7 @@ import javafx.scene.control.ContentDisplay;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
+@Prewarmable
 public final class ButtonPage extends OutlinePage {
 
     public static final String NAME = "Button";
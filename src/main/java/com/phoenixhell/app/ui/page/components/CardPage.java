@@ -10,6 +10,7 @@ import org.kordamp.ikonli.material2.Material2MZ;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 import com.phoenixhell.app.util.Resources;
 
@@ -35,6 +36,7 @@ import javafx.scene.shape.Circle;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 
+@Prewarmable
 public class CardPage extends OutlinePage {
 
     public static final String NAME = "Card";
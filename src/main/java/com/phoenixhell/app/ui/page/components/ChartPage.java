@@ -47,14 +47,14 @@ public final class ChartPage extends OutlinePage {
                 JavaFX provides a set of chart components specifically designed \
                 for data visualization. The charts include common types such as \
                 Bar, Line, Area, Pie, Scatter, and Bubble charts.""");
-        addSection("Area Chart", areaChart());
-        addSection("Stacked Area Chart", stackedAreaChart());
-        addSection("Bar Chart", barChart());
-        addSection("Stacked Bar Chart", stackedBarChart());
-        addSection("Bubble Chart", bubbleChart());
-        addSection("Line Chart", lineChart());
-        addSection("Pie Chart", pieChart());
-        addSection("Scatter Chart", scatterChart());
+        addSection("Area Chart", this::areaChart);
+        addSection("Stacked Area Chart", this::stackedAreaChart);
+        addSection("Bar Chart", this::barChart);
+        addSection("Stacked Bar Chart", this::stackedBarChart);
+        addSection("Bubble Chart", this::bubbleChart);
+        addSection("Line Chart", this::lineChart);
+        addSection("Pie Chart", this::pieChart);
+        addSection("Scatter Chart", this::scatterChart);
     }
 
     @SuppressWarnings("unchecked")
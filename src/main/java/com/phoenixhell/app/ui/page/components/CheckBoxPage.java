@@ -2,6 +2,7 @@ package com.phoenixhell.app.ui.page.components;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.util.BBCodeParser;
@@ -10,6 +11,7 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 
+@Prewarmable
 public final class CheckBoxPage extends OutlinePage {
 
     public static final String NAME = "CheckBox";
@@ -1,5 +1,8 @@
 package com.phoenixhell.app.ui.page.components;
 
+import com.phoenixhell.app.ui.page.Prewarmable;
+
+@Prewarmable
 public final class ChoiceBoxPage extends ComboBoxPage {
 
     public static final String NAME = "ChoiceBox";
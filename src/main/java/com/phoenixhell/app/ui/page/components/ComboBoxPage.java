@@ -8,6 +8,7 @@ import org.kordamp.ikonli.javafx.FontIcon;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.theme.Styles;
@@ -22,6 +23,7 @@ import javafx.scene.control.ListCell;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 
+@Prewarmable
 public class ComboBoxPage extends OutlinePage {
 
     public static final String NAME = "ComboBox";
@@ -13,6 +13,7 @@ import org.kordamp.ikonli.material2.Material2OutlinedMZ;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.CustomTextField;
@@ -26,6 +27,7 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
+@Prewarmable
 public final class CustomTextFieldPage extends OutlinePage {
 
     public static final String NAME = "CustomTextField";
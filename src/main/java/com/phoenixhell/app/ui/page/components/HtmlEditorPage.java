@@ -2,7 +2,7 @@ package com.phoenixhell.app.ui.page.components;
 
 import java.net.URI;
 
-import com.phoenixhell.app.event.DefaultEventBus;
+import com.phoenixhell.app.event.DeliveryMode;
 import com.phoenixhell.app.event.ThemeEvent;
 import com.phoenixhell.app.ui.page.AbstractPage;
 import com.phoenixhell.app.ui.theme.HighlightJSTheme;
@@ -28,6 +28,13 @@ public final class HtmlEditorPage extends AbstractPage {
         return NAME;
     }
 
+    // the editor is backed by the WebView engine, which is way too
+    // heavy to be kept in memory while the page isn't displayed
+    @Override
+    public boolean canBeCached() {
+        return false;
+    }
+
     @Override
     public URI getJavadocUri() {
         return URI.create("https://openjfx.io/javadoc/20/javafx.web/javafx/scene/web/HTMLEditor.html");
@@ -45,12 +52,12 @@ public final class HtmlEditorPage extends AbstractPage {
         addNode(editorSample());
 
         // update editor colors on app theme change
-        DefaultEventBus.getInstance().subscribe(ThemeEvent.class, e -> {
+        subscribe(ThemeEvent.class, e -> {
             if (ThemeManager.getInstance().getTheme() != null) {
                 editor.setHtmlText(generateContent());
                 editor.requestFocus();
             }
-        });
+        }, DeliveryMode.FX_COALESCED);
 
         editor.requestFocus();
     }
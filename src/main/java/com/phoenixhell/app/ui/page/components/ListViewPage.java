@@ -13,6 +13,7 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import com.phoenixhell.app.fake.domain.Book;
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.Spacer;
@@ -38,6 +39,7 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.util.StringConverter;
 
+@Prewarmable
 public final class ListViewPage extends OutlinePage {
 
     public static final String NAME = "ListView";
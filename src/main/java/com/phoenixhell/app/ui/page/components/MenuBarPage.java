@@ -12,6 +12,7 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.material2.Material2OutlinedAL;
 
 import com.phoenixhell.app.ui.page.AbstractPage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 
 import atlantafx.base.controls.CaptionMenuItem;
 import javafx.event.ActionEvent;
@@ -28,6 +29,7 @@ import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import net.datafaker.Faker;
 
+@Prewarmable
 public final class MenuBarPage extends AbstractPage {
 
     public static final String NAME = "MenuBar";
@@ -2,6 +2,7 @@ package com.phoenixhell.app.ui.page.components;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.ToggleSwitch;
@@ -19,6 +20,7 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
+@Prewarmable
 public final class PaginationPage extends OutlinePage {
 
     public static final String NAME = "Pagination";
@@ -12,6 +12,8 @@ import atlantafx.base.theme.Styles;
 import atlantafx.base.util.BBCodeParser;
 import javafx.beans.binding.Bindings;
 import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.EventHandler;
 import javafx.geometry.HPos;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
@@ -173,18 +175,23 @@ public final class ProgressIndicatorPage extends OutlinePage {
                 }
             };
 
-            // reset properties, so we can start a new task
-            task.setOnSucceeded(evt2 -> {
+            // reset properties, so we can start a new task,
+            // also when the task was cancelled or has failed
+            EventHandler<WorkerStateEvent> reset = evt2 -> {
                 reverseInd.progressProperty().unbind();
                 reverseLabel.textProperty().unbind();
                 reverseInd.setProgress(0.25);
                 reverseLabel.setText("25%");
-            });
+            };
+            task.setOnSucceeded(reset);
+            task.setOnCancelled(reset);
+            task.setOnFailed(reset);
 
             reverseInd.progressProperty().bind(task.progressProperty());
             reverseLabel.textProperty().bind(task.messageProperty());
 
-            new Thread(task).start();
+            // the task is cancelled when the page is detached
+            lifecycle.getTasks().execute(task);
         });
 
         var reverseGraphic = new VBox(10, reverseLabel, reverseBtn);
@@ -325,8 +332,9 @@ public final class ProgressIndicatorPage extends OutlinePage {
                 }
             };
 
-            // reset properties, so we can start a new task
-            task.setOnSucceeded(evt2 -> {
+            // reset properties, so we can start a new task,
+            // also when the task was cancelled or has failed
+            EventHandler<WorkerStateEvent> reset = evt2 -> {
                 bar.progressProperty().unbind();
                 barText.textProperty().unbind();
 
@@ -335,12 +343,16 @@ public final class ProgressIndicatorPage extends OutlinePage {
 
                 barStack.pseudoClassStateChanged(Styles.STATE_SUCCESS, false);
                 barStack.pseudoClassStateChanged(Styles.STATE_DANGER, false);
-            });
+            };
+            task.setOnSucceeded(reset);
+            task.setOnCancelled(reset);
+            task.setOnFailed(reset);
 
             bar.progressProperty().bind(task.progressProperty());
             barText.textProperty().bind(task.messageProperty());
 
-            new Thread(task).start();
+            // the task is cancelled when the page is detached
+            lifecycle.getTasks().execute(task);
         });
         // snippet_6:end
 
@@ -2,6 +2,7 @@ package com.phoenixhell.app.ui.page.components;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.util.BBCodeParser;
@@ -11,6 +12,7 @@ import javafx.scene.control.ToggleGroup;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
+@Prewarmable
 public final class RadioButtonPage extends OutlinePage {
 
     public static final String NAME = "RadioButton";
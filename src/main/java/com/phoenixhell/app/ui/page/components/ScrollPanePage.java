@@ -1,6 +1,7 @@
 package com.phoenixhell.app.ui.page.components;
 
 import com.phoenixhell.app.ui.page.AbstractPage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.FlowPane;
@@ -9,6 +10,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 
+@Prewarmable
 public final class ScrollPanePage extends AbstractPage {
 
     public static final String NAME = "ScrollPane";
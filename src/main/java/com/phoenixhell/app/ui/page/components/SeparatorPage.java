@@ -2,6 +2,7 @@ package com.phoenixhell.app.ui.page.components;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.theme.Styles;
@@ -14,6 +15,7 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
+@Prewarmable
 public final class SeparatorPage extends OutlinePage {
 
     public static final String NAME = "Separator";
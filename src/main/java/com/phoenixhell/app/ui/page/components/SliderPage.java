@@ -2,6 +2,7 @@ package com.phoenixhell.app.ui.page.components;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.ProgressSliderSkin;
@@ -10,6 +11,7 @@ import javafx.geometry.Orientation;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.GridPane;
 
+@Prewarmable
 public final class SliderPage extends OutlinePage {
 
     public static final String NAME = "Slider";
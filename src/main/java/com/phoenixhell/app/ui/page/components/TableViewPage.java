@@ -15,6 +15,7 @@ import org.kordamp.ikonli.javafx.FontIconTableCell;
 import com.phoenixhell.app.fake.domain.Product;
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.CaptionMenuItem;
@@ -58,6 +59,7 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
 
+@Prewarmable
 @SuppressWarnings("unchecked")
 public final class TableViewPage extends OutlinePage {
 
@@ -120,15 +122,15 @@ public final class TableViewPage extends OutlinePage {
         addFormattedText("""
                 The [i]TableView[/i] control is designed to visualize an unlimited number of rows of data, \
                 broken out into columns.""");
-        addSection("Usage", usageExample());
-        addSection("Row Style", rowStyleExample());
-        addSection("Selection Color", selectionColorExample());
-        addSection("Edge-to-Edge", edge2EdgeExample());
-        addSection("Alignment", alignmentExample());
-        addSection("Editable", editableExample());
-        addSection("Column Grouping", columnGroupingExample());
-        addSection("Pagination", paginationExample());
-        addSection("Playground", playground());
+        addSection("Usage", this::usageExample);
+        addSection("Row Style", this::rowStyleExample);
+        addSection("Selection Color", this::selectionColorExample);
+        addSection("Edge-to-Edge", this::edge2EdgeExample);
+        addSection("Alignment", this::alignmentExample);
+        addSection("Editable", this::editableExample);
+        addSection("Column Grouping", this::columnGroupingExample);
+        addSection("Pagination", this::paginationExample);
+        addSection("Playground", this::playground);
     }
 
     public ExampleBox usageExample() {
@@ -5,6 +5,7 @@ import java.util.stream.Stream;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.theme.Styles;
@@ -12,6 +13,7 @@ import atlantafx.base.util.BBCodeParser;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.HBox;
 
+@Prewarmable
 public final class TextAreaPage extends OutlinePage {
 
     public static final String NAME = "TextArea";
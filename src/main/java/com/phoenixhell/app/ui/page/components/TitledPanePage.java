@@ -5,6 +5,7 @@ import static javafx.scene.layout.Priority.NEVER;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.Spacer;
@@ -26,6 +27,7 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 
+@Prewarmable
 public final class TitledPanePage extends OutlinePage {
 
     public static final String NAME = "TitledPane";
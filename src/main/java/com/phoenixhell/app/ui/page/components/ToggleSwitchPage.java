@@ -4,6 +4,7 @@ import java.net.URI;
 
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.ToggleSwitch;
@@ -16,6 +17,7 @@ import javafx.scene.control.ToggleGroup;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 
+@Prewarmable
 public final class ToggleSwitchPage extends OutlinePage {
 
     public static final String NAME = "ToggleSwitch";
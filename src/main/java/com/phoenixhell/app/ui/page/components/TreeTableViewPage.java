@@ -15,6 +15,7 @@ import java.util.stream.IntStream;
 import com.phoenixhell.app.fake.domain.Product;
 import com.phoenixhell.app.ui.page.ExampleBox;
 import com.phoenixhell.app.ui.page.OutlinePage;
+import com.phoenixhell.app.ui.page.Prewarmable;
 import com.phoenixhell.app.ui.page.Snippet;
 
 import atlantafx.base.controls.CaptionMenuItem;
@@ -43,6 +44,7 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
 
+@Prewarmable
 public final class TreeTableViewPage extends OutlinePage {
 
     public static final String NAME = "TreeTableView";
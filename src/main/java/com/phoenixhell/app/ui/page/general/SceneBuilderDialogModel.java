@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.Nullable;
 
+import com.phoenixhell.app.service.system.TaskService;
 import com.phoenixhell.app.ui.theme.SamplerTheme;
 import com.phoenixhell.app.ui.theme.SceneBuilderTheme;
 import com.phoenixhell.app.ui.theme.ThemeManager;
@@ -92,7 +93,7 @@ final class SceneBuilderDialogModel {
                 Screen.START)));
         task.setOnFailed(e -> report.set(Report.error(e.getSource().getException().getMessage(), Screen.EXEC)));
 
-        new Thread(task).start();
+        TaskService.getInstance().execute(task);
     }
 
     private void uninstallAll() {
@@ -110,7 +111,7 @@ final class SceneBuilderDialogModel {
                 Screen.START)));
         task.setOnFailed(e -> report.set(Report.error(e.getSource().getException().getMessage(), Screen.EXEC)));
 
-        new Thread(task).start();
+        TaskService.getInstance().execute(task);
     }
 
     private void requireSupportedAction() {
@@ -9,7 +9,7 @@ import org.jetbrains.annotations.Nullable;
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.material2.Material2OutlinedMZ;
 
-import com.phoenixhell.app.event.DefaultEventBus;
+import com.phoenixhell.app.event.DeliveryMode;
 import com.phoenixhell.app.event.ThemeEvent;
 import com.phoenixhell.app.event.ThemeEvent.EventType;
 import com.phoenixhell.app.ui.page.OutlinePage;
@@ -108,7 +108,7 @@ public final class ThemePage extends OutlinePage {
             dialog.show(getScene());
         }, bgBaseColor);
 
-        DefaultEventBus.getInstance().subscribe(ThemeEvent.class, e -> {
+        subscribe(ThemeEvent.class, e -> {
             var eventType = e.getEventType();
             if (eventType == EventType.THEME_ADD || eventType == EventType.THEME_REMOVE) {
                 themeSelector.getItems().setAll(TM.getRepository().getAll());
@@ -120,7 +120,7 @@ public final class ThemePage extends OutlinePage {
                 fontFamilyChooser.getSelectionModel().select(DEFAULT_FONT_ID);
                 fontSizeSpinner.getValueFactory().setValue(DEFAULT_FONT_SIZE);
             }
-        });
+        }, DeliveryMode.FX_COALESCED);
 
         // mandatory base bg for flatten color calc
         Styles.appendStyle(this, "-fx-background-color", "-color-bg-default");
@@ -145,6 +145,20 @@ public final class ThemePage extends OutlinePage {
         colorScale.updateColorInfo(Duration.ZERO);
     }
 
+    @Override
+    public void onAttach() {
+        super.onAttach();
+
+        // theme events aren't received while the page is detached,
+        // so catch up with the changes made on other pages
+        themeSelector.getItems().setAll(TM.getRepository().getAll());
+        selectCurrentTheme();
+        if (isRendered) {
+            colorPalette.updateColorInfo(Duration.ZERO);
+            colorScale.updateColorInfo(Duration.ZERO);
+        }
+    }
+
     private Node createThemeManagementSection() {
         var themeRepoBtn = new Button(null, new FontIcon(Material2OutlinedMZ.SETTINGS));
         themeRepoBtn.getStyleClass().addAll(Styles.BUTTON_ICON, Styles.FLAT);
@@ -229,7 +243,7 @@ public final class ThemePage extends OutlinePage {
 
         // must be after setting the initial value
         choiceBox.getSelectionModel().selectedItemProperty().addListener((obs, old, val) -> {
-            if (val != null && getScene() != null) {
+            if (val != null && getScene() != null && !isCurrentTheme(val)) {
                 TM.setTheme(val);
             }
         });
@@ -295,6 +309,10 @@ public final class ThemePage extends OutlinePage {
         return spinner;
     }
 
+    private boolean isCurrentTheme(SamplerTheme theme) {
+        return TM.getTheme() != null && Objects.equals(TM.getTheme().getName(), theme.getName());
+    }
+
     private void selectCurrentTheme() {
         if (TM.getTheme() != null) {
             themeSelector.getItems().stream()
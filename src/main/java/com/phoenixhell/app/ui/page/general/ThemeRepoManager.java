@@ -11,13 +11,12 @@ import static javafx.scene.layout.Priority.ALWAYS;
 import java.io.File;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.material2.Material2OutlinedAL;
 
+import com.phoenixhell.app.service.system.TaskService;
 import com.phoenixhell.app.ui.theme.SamplerTheme;
 import com.phoenixhell.app.ui.theme.ThemeManager;
 import com.phoenixhell.app.ui.theme.ThemeRepository;
@@ -38,7 +37,6 @@ import javafx.scene.text.Text;
 @SuppressWarnings("UnnecessaryLambda")
 final class ThemeRepoManager extends VBox {
 
-    private static final Executor THREAD_POOL = Executors.newFixedThreadPool(3);
     private static final ThemeRepository REPO = ThemeManager.getInstance().getRepository();
 
     private VBox themeList;
@@ -177,7 +175,8 @@ final class ThemeRepoManager extends VBox {
                     e -> System.err.println("[ERROR] Unable to parse \"" + theme.getName()
                             + "\" theme colors. Either CSS not valid or file isn't readable."));
 
-            THREAD_POOL.execute(task);
+            // parsing is CPU bound, use the bounded pool
+            TaskService.getInstance().compute(task);
 
             // == CONTROLS ==
 
@@ -8,7 +8,7 @@ import org.jetbrains.annotations.Nullable;
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.material2.Material2AL;
 
-import com.phoenixhell.app.event.DefaultEventBus;
+import com.phoenixhell.app.event.DeliveryMode;
 import com.phoenixhell.app.event.ThemeEvent;
 import com.phoenixhell.app.event.ThemeEvent.EventType;
 import com.phoenixhell.app.ui.page.ExampleBox;
@@ -61,12 +61,12 @@ public final class TypographyPage extends OutlinePage {
         addSection("Label", labelExample());
         addSection("Hyperlink", hyperlinkExample());
 
-        DefaultEventBus.getInstance().subscribe(ThemeEvent.class, e -> {
+        subscribe(ThemeEvent.class, e -> {
             var eventType = e.getEventType();
             if (eventType == EventType.THEME_CHANGE || eventType == EventType.FONT_CHANGE) {
                 updateFontInfo();
             }
-        });
+        }, DeliveryMode.FX_COALESCED);
     }
 
     @Override
@@ -76,6 +76,15 @@ public final class TypographyPage extends OutlinePage {
         updateFontInfo();
     }
 
+    @Override
+    public void onAttach() {
+        super.onAttach();
+        // font might have been changed while the page was detached
+        if (isRendered) {
+            updateFontInfo();
+        }
+    }
+
     private void updateFontInfo() {
         if (fontSizeGridPane == null) {
             return;
@@ -2,12 +2,16 @@ package com.phoenixhell.app.ui.page.showcase;
 
 import java.net.URI;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import org.jetbrains.annotations.Nullable;
 import org.kordamp.ikonli.feather.Feather;
 import org.kordamp.ikonli.javafx.FontIcon;
 
+import com.phoenixhell.app.event.DeliveryMode;
+import com.phoenixhell.app.event.Event;
 import com.phoenixhell.app.ui.page.Page;
+import com.phoenixhell.app.ui.page.PageLifecycle;
 
 import atlantafx.base.controls.Spacer;
 import atlantafx.base.theme.Styles;
@@ -36,6 +40,7 @@ public abstract class ShowcasePage extends StackPane implements Page {
     protected final VBox showCaseContent = new VBox();
     protected final FontIcon aboutBtn = new FontIcon(Feather.HELP_CIRCLE);
     protected final BooleanProperty maximized = new SimpleBooleanProperty();
+    protected final PageLifecycle lifecycle = new PageLifecycle();
     protected int windowWidth = DEFAULT_WIDTH;
     protected int windowHeight = DEFAULT_HEIGHT;
 
@@ -135,6 +140,32 @@ public abstract class ShowcasePage extends StackPane implements Page {
     public void reset() {
     }
 
+    @Override
+    public void onAttach() {
+        lifecycle.attach();
+    }
+
+    @Override
+    public void onDetach() {
+        lifecycle.detach();
+    }
+
+    @Override
+    public void dispose() {
+        lifecycle.dispose();
+    }
+
+    // the subscription only exists while the page is attached
+    protected <E extends Event> void subscribe(Class<? extends E> eventType, Consumer<E> subscriber) {
+        lifecycle.subscribe(eventType, subscriber);
+    }
+
+    protected <E extends Event> void subscribe(Class<? extends E> eventType,
+                                               Consumer<E> subscriber,
+                                               DeliveryMode mode) {
+        lifecycle.subscribe(eventType, subscriber, mode);
+    }
+
     protected void showWarning(String header, String description) {
         var alert = new Alert(Alert.AlertType.WARNING);
         alert.setTitle("Error Dialog");
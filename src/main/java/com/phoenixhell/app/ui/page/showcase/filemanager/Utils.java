@@ -7,6 +7,8 @@ import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 
+import com.phoenixhell.app.service.system.TaskService;
+
 final class Utils {
 
     private Utils() {
@@ -48,13 +50,13 @@ final class Utils {
 
     public static void openFile(Path path) {
         if (Desktop.isDesktopSupported()) {
-            new Thread(() -> {
+            TaskService.getInstance().execute(() -> {
                 try {
                     Desktop.getDesktop().open(path.toFile());
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
-            }).start();
+            });
         }
     }
 
@@ -29,7 +29,7 @@ public class MusicPlayerPage extends ShowcasePage {
 
     private void createView() {
         var startScreen = new StartScreen(model);
-        var playerScreen = new PlayerScreen(model);
+        var playerScreen = new PlayerScreen(model, lifecycle.getTasks());
 
         var root = new BorderPane();
         root.setId("music-player-showcase");
@@ -2,6 +2,7 @@ package com.phoenixhell.app.ui.page.showcase.musicplayer;
 
 import static com.phoenixhell.app.util.ui.JColorUtils.toHexWithAlpha;
 
+import com.phoenixhell.app.ui.page.PageTasks;
 import java.util.Objects;
 import javafx.scene.control.SplitPane;
 import javafx.scene.paint.Color;
@@ -9,18 +10,20 @@ import javafx.scene.paint.Color;
 final class PlayerScreen extends SplitPane {
 
     private final Model model;
+    private final PageTasks tasks;
 
-    public PlayerScreen(Model model) {
+    public PlayerScreen(Model model, PageTasks tasks) {
         super();
 
         this.model = model;
+        this.tasks = tasks;
 
         createView();
     }
 
     private void createView() {
         var player = new PlayerPane(model);
-        var playlist = new PlaylistPane(model);
+        var playlist = new PlaylistPane(model, tasks);
 
         getStyleClass().add("player-screen");
         getItems().setAll(player, playlist);
@@ -15,6 +15,7 @@ import static org.kordamp.ikonli.material2.Material2MZ.PLAYLIST_PLAY;
 
 import atlantafx.base.controls.Spacer;
 import atlantafx.base.theme.Tweaks;
+import com.phoenixhell.app.ui.page.PageTasks;
 import java.io.File;
 import java.util.List;
 import java.util.Objects;
@@ -38,6 +39,7 @@ import org.kordamp.ikonli.javafx.FontIcon;
 final class PlaylistPane extends VBox {
 
     private final Model model;
+    private final PageTasks tasks;
 
     private Label sizeLabel;
     private Label sizeDescLabel;
@@ -45,10 +47,11 @@ final class PlaylistPane extends VBox {
     private Button addButton;
     private ListView<MediaFile> playlist;
 
-    public PlaylistPane(Model model) {
+    public PlaylistPane(Model model, PageTasks tasks) {
         super();
 
         this.model = model;
+        this.tasks = tasks;
 
         createView();
         init();
@@ -143,7 +146,9 @@ final class PlaylistPane extends VBox {
 
             task.setOnSucceeded(te -> loadProgress.setVisible(false));
             loadProgress.progressProperty().bind(task.progressProperty());
-            new Thread(task).start();
+            // cancelled if the page is left while files are loading
+            task.setOnCancelled(te -> loadProgress.setVisible(false));
+            tasks.execute(task);
         });
     }
 
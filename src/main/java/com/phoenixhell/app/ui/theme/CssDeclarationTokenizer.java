@@ -0,0 +1,161 @@
+package com.phoenixhell.app.ui.theme;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming tokenizer that extracts property declarations from a CSS stylesheet.
+ *
+ * <p>
+ * The whole input is read once, char by char, so it doesn't matter how the
+ * stylesheet is formatted, including minified files. Comments are skipped,
+ * quoted strings and parentheses (e.g. {@code url(data:...;base64,...)}) are
+ * preserved as is. Selectors and at-rules are not reported, only declarations
+ * inside blocks, nested blocks (e.g. {@code @media}) are supported.
+ */
+final class CssDeclarationTokenizer {
+
+    private final Reader reader;
+    private final BiConsumer<String, String> consumer;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int blockDepth = 0;
+    private int parenDepth = 0;
+    private int pushedBack = -1; // a char read ahead, returned by the next read()
+
+    private CssDeclarationTokenizer(Reader reader, BiConsumer<String, String> consumer) {
+        this.reader = reader;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Reads the stylesheet and passes every declaration to the consumer in the
+     * order of appearance.
+     *
+     * @param reader   the stylesheet source, it's not closed
+     * @param consumer receives trimmed property name and value
+     */
+    public static void tokenize(Reader reader, BiConsumer<String, String> consumer) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(consumer, "consumer");
+        new CssDeclarationTokenizer(reader, consumer).run();
+    }
+
+    private void run() throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '/') {
+                int next = read();
+                if (next == '*') {
+                    skipComment();
+                    continue;
+                }
+                buffer.append('/');
+                // the next char goes through the loop again, it can be a token
+                // on its own, e.g. "/;", or start a comment, e.g. "//* */"
+                unread(next);
+                continue;
+            }
+            process(c);
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    private void process(int c) throws IOException {
+        switch (c) {
+            case '"', '\'' -> readString((char) c);
+            case '(' -> {
+                parenDepth++;
+                buffer.append('(');
+            }
+            case ')' -> {
+                parenDepth = Math.max(0, parenDepth - 1);
+                buffer.append(')');
+            }
+            case '{' -> {
+                if (parenDepth > 0) {
+                    buffer.append('{');
+                    return;
+                }
+                // selector or at-rule prelude
+                blockDepth++;
+                buffer.setLength(0);
+            }
+            case '}' -> {
+                if (parenDepth > 0) {
+                    buffer.append('}');
+                    return;
+                }
+                // the last declaration in a block doesn't need a semicolon
+                flushDeclaration();
+                blockDepth = Math.max(0, blockDepth - 1);
+            }
+            case ';' -> {
+                if (parenDepth > 0) {
+                    buffer.append(';');
+                    return;
+                }
+                flushDeclaration();
+            }
+            default -> buffer.append((char) c);
+        }
+    }
+
+    private void flushDeclaration() {
+        if (blockDepth > 0) {
+            int colon = buffer.indexOf(":");
+            if (colon > 0) {
+                String property = buffer.substring(0, colon).trim();
+                String value = buffer.substring(colon + 1).trim();
+                if (!property.isEmpty() && !value.isEmpty()) {
+                    consumer.accept(property, value);
+                }
+            }
+        }
+        // at-rules like @import end with a semicolon outside of any block
+        buffer.setLength(0);
+        parenDepth = 0;
+    }
+
+    private void skipComment() throws IOException {
+        int prev = -1;
+        int c;
+        while ((c = read()) != -1) {
+            if (prev == '*' && c == '/') {
+                return;
+            }
+            prev = c;
+        }
+    }
+
+    private void readString(char quote) throws IOException {
+        buffer.append(quote);
+        int c;
+        while ((c = read()) != -1) {
+            buffer.append((char) c);
+            if (c == '\\') {
+                int escaped = read();
+                if (escaped == -1) {
+                    return;
+                }
+                buffer.append((char) escaped);
+            } else if (c == quote) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.phoenixhell.app.ui.theme;
+
+import java.util.Map;
+
+/**
+ * Builds the CSS of the user customizations applied to the scene root.
+ *
+ * <p>
+ * Declarations (looked-up colors, font family and size) become the root inline
+ * style, which is replaced as a whole, so it never accumulates stale values.
+ * Rules can't be inlined, thus they're compiled into a stylesheet, where every
+ * selector is scoped to the given pseudo-class of the body.
+ */
+final class CustomStyle {
+
+    private CustomStyle() {
+        // static helper
+    }
+
+    public static String toInlineStyle(Map<String, String> declarations) {
+        var style = new StringBuilder();
+        declarations.forEach((property, value) -> style.append(property).append(':').append(value).append(';'));
+        return style.toString();
+    }
+
+    public static String toRulesCss(Map<String, String> rules, String pseudoClass) {
+        var css = new StringBuilder();
+        rules.forEach((selector, rule) -> {
+            // custom CSS is applied to the body,
+            // thus it has a preference over accent color
+            css.append(".body:");
+            css.append(pseudoClass);
+            css.append(" ");
+            css.append(selector);
+            css.append(" {");
+            css.append(rule);
+            css.append("}\n");
+        });
+        return css.toString();
+    }
+}
@@ -7,27 +7,18 @@ import static com.phoenixhell.app.util.Resources.resolve;
 import static com.phoenixhell.app.ui.theme.ThemeManager.APP_STYLESHEETS;
 import static com.phoenixhell.app.ui.theme.ThemeManager.DUMMY_STYLESHEET;
 import static com.phoenixhell.app.ui.theme.ThemeManager.PROJECT_THEMES;
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 
 import atlantafx.base.theme.Theme;
 import com.phoenixhell.app.FileResource;
 import com.phoenixhell.app.Launcher;
 import com.phoenixhell.app.util.Resources;
 // import fr.brouillard.oss.cssfx.CSSFX;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.file.Files;
-import java.nio.file.attribute.FileTime;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import org.jetbrains.annotations.Nullable;
@@ -70,15 +61,8 @@ import org.jetbrains.annotations.Nullable;
  */
 public final class SamplerTheme implements Theme {
 
-    private static final int PARSE_LIMIT = 250;
-    private static final Pattern COLOR_PATTERN = Pattern
-            .compile("\s*?(-color-(fg|bg|accent|success|danger|warning)-.+?):\s*?(.+?);");
-
     private final Theme theme;
 
-    private FileTime lastModified;
-    private Map<String, String> colors;
-
     public SamplerTheme(Theme theme) {
         Objects.requireNonNull(theme);
 
@@ -121,65 +105,10 @@ public final class SamplerTheme implements Theme {
         return PROJECT_THEMES.contains(theme.getClass());
     }
 
-    // Tries to parse theme CSS and extract conventional looked-up colors. There are
-    // few limitations:
-    // - minified CSS files are not supported
-    // - only first PARSE_LIMIT lines will be read
+    // Extracts conventional looked-up colors from the theme CSS. Results are cached
+    // and persisted by the color index, the file is only parsed again when it's modified.
     public Map<String, String> parseColors() throws IOException {
-        FileResource file = getResource();
-        return file.internal() ? parseColorsForClasspath(file) : parseColorsForFilesystem(file);
-    }
-
-    private Map<String, String> parseColors(BufferedReader br) throws IOException {
-        Map<String, String> colors = new HashMap<>();
-
-        String line;
-        int lineCount = 0;
-
-        while ((line = br.readLine()) != null) {
-            Matcher matcher = COLOR_PATTERN.matcher(line);
-            if (matcher.matches()) {
-                colors.put(matcher.group(1), matcher.group(3));
-            }
-
-            lineCount++;
-            if (lineCount > PARSE_LIMIT) {
-                break;
-            }
-        }
-
-        return colors;
-    }
-
-    private Map<String, String> parseColorsForClasspath(FileResource file) throws IOException {
-        // classpath resources are static, no need to parse project theme more than once
-        if (colors != null) {
-            return colors;
-        }
-
-        try (var br = new BufferedReader(new InputStreamReader(file.getInputStream(), UTF_8))) {
-            colors = parseColors(br);
-        }
-
-        return colors;
-    }
-
-    private Map<String, String> parseColorsForFilesystem(FileResource file) throws IOException {
-        // return cached colors if file wasn't changed since the last read
-        FileTime fileTime = Files.getLastModifiedTime(file.toPath(), NOFOLLOW_LINKS);
-        if (Objects.equals(fileTime, lastModified)) {
-            return colors;
-        }
-
-        try (var br = new BufferedReader(new InputStreamReader(file.getInputStream(), UTF_8))) {
-            colors = parseColors(br);
-        }
-
-        // don't save time before parsing is finished to avoid
-        // remembering operation that might end up with an error
-        lastModified = fileTime;
-
-        return colors;
+        return ThemeColorIndex.getInstance().get(this);
     }
 
     public String getPath() {
@@ -0,0 +1,308 @@
+package com.phoenixhell.app.ui.theme;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.phoenixhell.app.Launcher;
+import com.phoenixhell.app.service.system.LocalDirService;
+import com.phoenixhell.app.service.system.TaskService;
+
+import javafx.css.Stylesheet;
+
+/**
+ * Compiles text stylesheets to the JavaFX binary format (BSS).
+ *
+ * <p>
+ * Loading a binary stylesheet skips CSS parsing, which is the most expensive
+ * part of switching the theme. Compiled stylesheets are stored in the user data
+ * directory under the SHA-256 hash of their content, so a stylesheet is only
+ * compiled once unless it's changed, and the result is reused by the next
+ * launches. Compilation runs in the background, until it's completed the
+ * original text stylesheet is used.
+ *
+ * <p>
+ * The compiled file is deleted when the stylesheet is invalidated, and
+ * {@link #prune()} deletes the files that weren't used for {@link #MAX_AGE},
+ * e.g. those of the previous app versions, so the cache doesn't grow forever.
+ *
+ * <p>
+ * Relative URLs (fonts, images) are resolved against the original stylesheet
+ * location before compiling, because the compiled file is stored elsewhere.
+ * In dev mode stylesheets are never compiled, so that CSS changes are picked
+ * up immediately.
+ */
+public final class StylesheetCache {
+
+    static final String CACHE_DIR = "css-cache";
+    static final Duration MAX_AGE = Duration.ofDays(30);
+
+    private static final String TEMP_PREFIX = "stylesheet";
+
+    private static final Pattern URL_PATTERN = Pattern.compile("url\\(\\s*(['\"]?)([^'\")]+)\\1\\s*\\)");
+
+    // stylesheets are compiled one by one, so the compiler never takes more than one worker
+    private final Executor executor = TaskService.getInstance().newSerialComputeExecutor();
+
+    // original URL -> compiled stylesheet URL, or the original URL if it can't be compiled
+    private final Map<String, CompletableFuture<String>> compiled = new ConcurrentHashMap<>();
+    // compiled stylesheet URL -> original URL, kept after invalidation,
+    // because the scene may still use the previous compiled version
+    private final Map<String, String> sources = new ConcurrentHashMap<>();
+
+    private volatile Path cacheDir;
+
+    private StylesheetCache() {
+    }
+
+    StylesheetCache(Path cacheDir) {
+        this.cacheDir = Objects.requireNonNull(cacheDir);
+    }
+
+    /**
+     * Returns the compiled stylesheet URL if it's ready, otherwise schedules
+     * the compilation and returns the original URL.
+     */
+    public String get(String url) {
+        Objects.requireNonNull(url);
+        if (!isSupported(url)) {
+            return url;
+        }
+        return compile(url).getNow(url);
+    }
+
+    /**
+     * Compiles the stylesheet in the background.
+     *
+     * @return the compiled stylesheet URL, or the original URL if compilation failed
+     */
+    public CompletableFuture<String> compile(String url) {
+        Objects.requireNonNull(url);
+        if (!isSupported(url)) {
+            return CompletableFuture.completedFuture(url);
+        }
+        return compiled.computeIfAbsent(url, k -> CompletableFuture.supplyAsync(() -> compileNow(k), executor));
+    }
+
+    /**
+     * Forgets the compiled version of the stylesheet, so that the next
+     * {@link #get(String)} or {@link #compile(String)} call reads it again.
+     */
+    public void invalidate(String url) {
+        Objects.requireNonNull(url);
+        CompletableFuture<String> previous = compiled.remove(url);
+        if (previous != null) {
+            // runs after the compilations submitted so far, see deleteUnused()
+            previous.thenAcceptAsync(this::deleteUnused, executor);
+        }
+    }
+
+    /**
+     * Returns the original URL of a compiled stylesheet (including the
+     * previous versions of invalidated stylesheets), or the given URL
+     * if it's not a compiled stylesheet.
+     */
+    public String getSource(String url) {
+        Objects.requireNonNull(url);
+        return sources.getOrDefault(url, url);
+    }
+
+    // the list may contain the other form of the same stylesheet (text or compiled),
+    // it's replaced in place, so that the stylesheets order is kept
+    void putStylesheet(List<String> stylesheets, String url) {
+        String stylesheet = get(url);
+        boolean found = false;
+        for (var it = stylesheets.listIterator(); it.hasNext(); ) {
+            String s = it.next();
+            if (!s.equals(stylesheet) && !url.equals(getSource(s))) {
+                continue;
+            }
+
+            if (found) {
+                it.remove();
+            } else {
+                found = true;
+                if (!s.equals(stylesheet)) {
+                    it.set(stylesheet);
+                }
+            }
+        }
+
+        if (!found) {
+            stylesheets.add(stylesheet);
+        }
+    }
+
+    /**
+     * Deletes the compiled stylesheets that weren't used for {@link #MAX_AGE}
+     * and the temporary files left by an interrupted compilation. Runs in the
+     * background before the compilations submitted after this call.
+     */
+    public void prune() {
+        executor.execute(this::pruneNow);
+    }
+
+    /**
+     * Compiles all given stylesheets and waits until they're ready.
+     * Must not be called on the FX thread.
+     */
+    public void precompile(Collection<String> urls) {
+        CompletableFuture.allOf(urls.stream().map(this::compile).toArray(CompletableFuture[]::new)).join();
+    }
+
+    // only absolute URLs can be read and resolved
+    private boolean isSupported(String url) {
+        return !Launcher.IS_DEV_MODE
+                && (url.startsWith("file:") || url.startsWith("jar:"))
+                && url.endsWith(".css");
+    }
+
+    private String compileNow(String url) {
+        try {
+            String css;
+            try (InputStream in = URI.create(url).toURL().openStream()) {
+                css = resolveUrls(new String(in.readAllBytes(), UTF_8), url);
+            }
+
+            Path dir = getCacheDir();
+            Files.createDirectories(dir);
+
+            Path target = dir.resolve(sha256(css) + ".bss");
+            if (Files.exists(target)) {
+                // used files are never pruned
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                Path source = Files.createTempFile(dir, TEMP_PREFIX, ".css");
+                Path temp = Files.createTempFile(dir, TEMP_PREFIX, ".bss");
+                try {
+                    Files.writeString(source, css, UTF_8);
+                    Stylesheet.convertToBinary(source.toFile(), temp.toFile());
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(source);
+                    Files.deleteIfExists(temp);
+                }
+            }
+
+            String compiledUrl = target.toUri().toString();
+            sources.put(compiledUrl, url);
+            return compiledUrl;
+        } catch (Exception e) {
+            System.err.println("[WARNING] Unable to compile stylesheet \"" + url + "\", using text CSS.");
+            e.printStackTrace();
+            return url;
+        }
+    }
+
+    // the same content may be compiled for another URL, or the stylesheet
+    // may be compiled again after it was invalidated without changes
+    private void deleteUnused(String compiledUrl) {
+        if (!compiledUrl.endsWith(".bss")
+                || compiled.values().stream().anyMatch(f -> compiledUrl.equals(f.getNow(null)))) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(Paths.get(URI.create(compiledUrl)));
+        } catch (Exception e) {
+            System.err.println("[WARNING] Unable to delete compiled stylesheet \"" + compiledUrl + "\".");
+        }
+    }
+
+    // must be called by the executor, so that no compilation is in progress
+    void pruneNow() {
+        try {
+            Path dir = getCacheDir();
+            if (!Files.isDirectory(dir)) {
+                return;
+            }
+
+            var expired = FileTime.from(Instant.now().minus(MAX_AGE));
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.startsWith(TEMP_PREFIX)
+                            || (name.endsWith(".bss") && Files.getLastModifiedTime(file).compareTo(expired) < 0)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[WARNING] Unable to prune compiled stylesheets.");
+            e.printStackTrace();
+        }
+    }
+
+    private Path getCacheDir() throws IOException {
+        Path dir = cacheDir;
+        if (dir == null) {
+            dir = Paths.get(LocalDirService.getUserDataDirPath(), CACHE_DIR);
+            cacheDir = dir;
+        }
+        return dir;
+    }
+
+    static String resolveUrls(String css, String baseUrl) {
+        Matcher matcher = URL_PATTERN.matcher(css);
+        var sb = new StringBuilder();
+        while (matcher.find()) {
+            String location = matcher.group(2).trim();
+            String resolved = location.contains(":") ? location : resolveUrl(baseUrl, location);
+            matcher.appendReplacement(sb, Matcher.quoteReplacement("url(\"" + resolved + "\")"));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    // jar URLs are opaque, only the entry part can be resolved
+    private static String resolveUrl(String base, String location) {
+        int separator = base.indexOf("!/");
+        if (separator >= 0) {
+            return base.substring(0, separator + 1) + URI.create(base.substring(separator + 1)).resolve(location);
+        }
+        return URI.create(base).resolve(location).toString();
+    }
+
+    private static String sha256(String content) throws NoSuchAlgorithmException {
+        var digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(content.getBytes(UTF_8)));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static class InstanceHolder {
+
+        private static final StylesheetCache INSTANCE = new StylesheetCache();
+    }
+
+    public static StylesheetCache getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+}
@@ -0,0 +1,294 @@
+package com.phoenixhell.app.ui.theme;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.phoenixhell.app.FileResource;
+import com.phoenixhell.app.service.system.LocalDirService;
+import com.phoenixhell.app.service.system.TaskService;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Persistent index of the conventional looked-up colors of every theme.
+ *
+ * <p>
+ * Colors are extracted from the theme user agent stylesheet with
+ * {@link CssDeclarationTokenizer}, so the whole file is parsed regardless of
+ * its formatting. Results are stored in a JSON file in the user data directory,
+ * keyed by the stylesheet path and validated by its modification time and size,
+ * so a stylesheet is only parsed again when it's changed.
+ *
+ * <p>
+ * Colors of all repository themes are computed in parallel on startup, see
+ * {@link #precompute(Collection)}, thus the UI only needs the cached value,
+ * see {@link #getIfPresent(SamplerTheme)}.
+ */
+public final class ThemeColorIndex {
+
+    static final String INDEX_FILE = "theme-colors.json";
+    private static final long FLUSH_DELAY = 1_000; // ms
+    private static final Pattern COLOR_PROPERTY = Pattern.compile("-color-(fg|bg|accent|success|danger|warning)-.+");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>(); // by stylesheet location
+    private final Executor writer = TaskService.getInstance().newSerialExecutor();
+    private final @Nullable Path file;
+
+    private boolean dirty = false;
+    private ScheduledFuture<?> pendingFlush;
+
+    private ThemeColorIndex() {
+        this.file = resolveFile();
+        load();
+    }
+
+    /**
+     * Returns theme colors if they were already computed and the stylesheet
+     * wasn't changed since. Never parses CSS, so it's safe to call on the FX thread.
+     */
+    public @Nullable Map<String, String> getIfPresent(SamplerTheme theme) {
+        Objects.requireNonNull(theme);
+        FileResource resource = theme.getResource();
+        Entry entry = entries.get(resource.location());
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            return entry.matches(stat(resource)) ? entry.colors() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns theme colors, parses the stylesheet if it was changed or never parsed before.
+     */
+    public Map<String, String> get(SamplerTheme theme) throws IOException {
+        Objects.requireNonNull(theme);
+        FileResource resource = theme.getResource();
+        Stat stat = stat(resource);
+
+        Entry entry = entries.get(resource.location());
+        if (entry != null && entry.matches(stat)) {
+            return entry.colors();
+        }
+
+        Map<String, String> colors = parse(resource);
+        entries.put(resource.location(), new Entry(stat.lastModified(), stat.size(), colors));
+        scheduleFlush();
+
+        return colors;
+    }
+
+    /**
+     * Drops cached colors of the theme, e.g. when its stylesheet is changed
+     * within the same second, so the modification time can't be trusted.
+     */
+    public void invalidate(SamplerTheme theme) {
+        Objects.requireNonNull(theme);
+        if (entries.remove(theme.getResource().location()) != null) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Computes colors of the given themes in parallel.
+     */
+    public CompletableFuture<Void> precompute(Collection<SamplerTheme> themes) {
+        return CompletableFuture.allOf(themes.stream()
+                .map(theme -> TaskService.getInstance().computeAsync(() -> {
+                    try {
+                        return get(theme);
+                    } catch (IOException e) {
+                        System.err.println("[WARNING] Unable to parse colors of the \"" + theme.getName() + "\" theme.");
+                        return null;
+                    }
+                }))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Writes pending changes immediately.
+     */
+    public void flush() {
+        Map<String, Entry> snapshot;
+        synchronized (this) {
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+            if (!dirty || file == null) {
+                return;
+            }
+            dirty = false;
+            snapshot = new TreeMap<>(entries);
+        }
+
+        try {
+            write(snapshot);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            System.err.println("[WARNING] Unable to save theme colors to \"" + file + "\".");
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void scheduleFlush() {
+        dirty = true;
+        if (pendingFlush == null || pendingFlush.isDone()) {
+            pendingFlush = TaskService.getInstance().schedule(this::flush, FLUSH_DELAY, TimeUnit.MILLISECONDS, writer);
+        }
+    }
+
+    // the first declaration wins, that's usually the ".root" one,
+    // while the later ones are overrides for specific controls
+    private static Map<String, String> parse(FileResource resource) throws IOException {
+        var colors = new HashMap<String, String>();
+        try (var reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), UTF_8))) {
+            CssDeclarationTokenizer.tokenize(reader, (property, value) -> {
+                if (COLOR_PROPERTY.matcher(property).matches()) {
+                    colors.putIfAbsent(property, value);
+                }
+            });
+        }
+        return Collections.unmodifiableMap(colors);
+    }
+
+    private static Stat stat(FileResource resource) throws IOException {
+        if (!resource.internal()) {
+            return stat(resource.toPath());
+        }
+
+        URL url = resource.getURL();
+        if (url == null) {
+            throw new IOException("Resource not found: " + resource.location());
+        }
+        if ("file".equals(url.getProtocol())) {
+            return stat(Paths.get(URI.create(url.toExternalForm())));
+        }
+
+        // jar entry, the jar file itself is cached by the connection
+        URLConnection connection = url.openConnection();
+        return new Stat(connection.getLastModified(), connection.getContentLengthLong());
+    }
+
+    private static Stat stat(Path path) throws IOException {
+        var attrs = Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        return new Stat(attrs.lastModifiedTime().toMillis(), attrs.size());
+    }
+
+    private void load() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+
+        try {
+            JsonNode root = objectMapper.readTree(file.toFile());
+            for (Iterator<Map.Entry<String, JsonNode>> it = root.fields(); it.hasNext(); ) {
+                var field = it.next();
+                var node = field.getValue();
+
+                var colors = new LinkedHashMap<String, String>();
+                for (Iterator<Map.Entry<String, JsonNode>> c = node.path("colors").fields(); c.hasNext(); ) {
+                    var color = c.next();
+                    colors.put(color.getKey(), color.getValue().asText());
+                }
+
+                entries.put(field.getKey(), new Entry(
+                        node.path("lastModified").asLong(),
+                        node.path("size").asLong(),
+                        Collections.unmodifiableMap(colors)));
+            }
+        } catch (IOException e) {
+            System.err.println("[WARNING] Unable to load theme colors from \"" + file + "\".");
+            e.printStackTrace();
+        }
+    }
+
+    private void write(Map<String, Entry> snapshot) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        snapshot.forEach((location, entry) -> {
+            ObjectNode node = root.putObject(location)
+                    .put("lastModified", entry.lastModified())
+                    .put("size", entry.size());
+            ObjectNode colors = node.putObject("colors");
+            new TreeMap<>(entry.colors()).forEach(colors::put);
+        });
+
+        // write to a temp file first, so that crash never leaves the index half-written
+        Path temp = file.resolveSibling(INDEX_FILE + ".tmp");
+        objectMapper.writeValue(temp.toFile(), root);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static @Nullable Path resolveFile() {
+        try {
+            return Paths.get(LocalDirService.getUserDataDirPath(), INDEX_FILE);
+        } catch (IOException e) {
+            System.err.println("[WARNING] Unable to access user data directory, theme colors won't be saved.");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private record Stat(long lastModified, long size) {
+    }
+
+    private record Entry(long lastModified, long size, Map<String, String> colors) {
+
+        boolean matches(Stat stat) {
+            return lastModified == stat.lastModified() && size == stat.size();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static class InstanceHolder {
+
+        private static final ThemeColorIndex INSTANCE = new ThemeColorIndex();
+    }
+
+    public static ThemeColorIndex getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+}
@@ -1,7 +1,9 @@
 package com.phoenixhell.app.ui.theme;
 
+import static com.phoenixhell.app.Launcher.IS_DEV_MODE;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -28,17 +30,21 @@ import atlantafx.base.theme.NordLight;
 import atlantafx.base.theme.PrimerDark;
 import atlantafx.base.theme.PrimerLight;
 import atlantafx.base.theme.Theme;
+import javafx.animation.Animation;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.css.PseudoClass;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
+import javafx.scene.transform.Scale;
 import javafx.util.Duration;
 
 public final class ThemeManager {
@@ -56,6 +62,12 @@ public final class ThemeManager {
     private static final PseudoClass DARK = PseudoClass.getPseudoClass("dark");
     private static final PseudoClass USER_CUSTOM = PseudoClass.getPseudoClass("user-custom");
     private static final EventBus EVENT_BUS = DefaultEventBus.getInstance();
+    private static final StylesheetCache STYLESHEET_CACHE = StylesheetCache.getInstance();
+
+    // larger windows are captured at a lower resolution for the theme change transition
+    private static final double MAX_SNAPSHOT_PIXELS = 1920 * 1080;
+    // one frame at 60 FPS, a slower snapshot skips the transition of that change
+    private static final long SNAPSHOT_BUDGET = 16_000_000; // ns
 
     public static final String DEFAULT_FONT_FAMILY_NAME = "Inter";
     public static final int DEFAULT_FONT_SIZE = 14;
@@ -67,9 +79,20 @@ public final class ThemeManager {
     private final Map<String, String> customCSSDeclarations = new LinkedHashMap<>(); // -fx-property | value;
     private final Map<String, String> customCSSRules = new LinkedHashMap<>(); // .foo | -fx-property: value;
 
+    // what is currently applied to the scene root
+    private final Map<String, String> appliedDeclarations = new LinkedHashMap<>();
+    private String appliedRulesCss = "";
+    private String rulesStylesheet = null;
+
+    // theme change transition
+    private WritableImage transitionImage;
+    private ImageView transitionView;
+    private Timeline transition;
+
     private final ThemeRepository repository = new ThemeRepository();
 
     private Scene scene;
+    private boolean customCSSReloadPending = false;
 
     private SamplerTheme currentTheme = null;
     private String fontFamily = DEFAULT_FONT_FAMILY_NAME;
@@ -110,20 +133,12 @@ public final class ThemeManager {
             animateThemeChange(Duration.millis(750));
         }
 
-        Application.setUserAgentStylesheet(Objects.requireNonNull(theme.getUserAgentStylesheet()));
+        Application.setUserAgentStylesheet(getUserAgentStylesheet(theme));
 
-        // FIXME Resouce 都加上 toExternalForm()
-        theme.getAllStylesheets().stream().map(path -> {
-            try {
-                return getClass().getResource(path).toExternalForm();
-            } catch (Exception e) {
-                System.err.println("Failed to load stylesheet: " + path);
-                e.printStackTrace();
-                return null;
-            }
-        }).distinct()
-                .filter(Objects::nonNull)
-                .forEach(s -> getScene().getStylesheets().add(s));
+        // precompiled stylesheets are used when ready, see StylesheetCache
+        for (String url : getStylesheets(theme)) {
+            STYLESHEET_CACHE.putStylesheet(getScene().getStylesheets(), url);
+        }
 
         // 这个老是由警告
         // getScene().getStylesheets().setAll(theme.getAllStylesheets());
@@ -137,6 +152,79 @@ public final class ThemeManager {
         EVENT_BUS.publish(new ThemeEvent(EventType.THEME_CHANGE));
     }
 
+    // theme stylesheet was changed on disk, see ThemeWatcher
+    private void onThemeFileChanged(SamplerTheme theme) {
+        String uaStylesheet = Objects.requireNonNull(theme.getUserAgentStylesheet());
+        STYLESHEET_CACHE.invalidate(uaStylesheet);
+        STYLESHEET_CACHE.compile(uaStylesheet).thenRun(() -> Platform.runLater(() -> reloadTheme(theme)));
+    }
+
+    private void reloadTheme(SamplerTheme theme) {
+        if (currentTheme == null || !Objects.equals(currentTheme.getName(), theme.getName())) {
+            return;
+        }
+
+        if (IS_DEV_MODE) {
+            // theme CSS is a scene stylesheet, re-adding it forces JavaFX to read the file again
+            var stylesheets = getScene().getStylesheets();
+            for (String stylesheet : getStylesheets(theme)) {
+                int index = stylesheets.indexOf(stylesheet);
+                if (index >= 0) {
+                    stylesheets.remove(index);
+                    stylesheets.add(index, stylesheet);
+                }
+            }
+        } else {
+            // the same user agent stylesheet isn't loaded twice, switch to the dummy one first
+            Application.setUserAgentStylesheet(DUMMY_STYLESHEET);
+            Application.setUserAgentStylesheet(getUserAgentStylesheet(theme));
+        }
+
+        // unlike theme change, user CSS customizations are kept
+        EVENT_BUS.publish(new ThemeEvent(EventType.COLOR_CHANGE));
+    }
+
+    /**
+     * Compiles stylesheets of the default theme and the app stylesheets to the
+     * binary format, while other themes are compiled in the background.
+     * Must not be called on the FX thread.
+     */
+    public void precompileStylesheets() {
+        // deletes files of the previous versions before anything is compiled
+        STYLESHEET_CACHE.prune();
+
+        var defaultTheme = getDefaultTheme();
+        var urls = new ArrayList<>(getStylesheets(defaultTheme));
+        urls.add(getUserAgentStylesheet(defaultTheme));
+        STYLESHEET_CACHE.precompile(urls);
+
+        for (SamplerTheme theme : repository.getAll()) {
+            STYLESHEET_CACHE.compile(getUserAgentStylesheet(theme));
+        }
+    }
+
+    // AtlantaFX ships project themes precompiled, other themes are compiled by the cache
+    private String getUserAgentStylesheet(SamplerTheme theme) {
+        String uaStylesheet = Objects.requireNonNull(theme.getUserAgentStylesheet());
+        if (!IS_DEV_MODE && theme.isProjectTheme() && theme.getUserAgentStylesheetBSS() != null) {
+            return theme.getUserAgentStylesheetBSS();
+        }
+        return STYLESHEET_CACHE.get(uaStylesheet);
+    }
+
+    private List<String> getStylesheets(SamplerTheme theme) {
+        // FIXME Resouce 都加上 toExternalForm()
+        return theme.getAllStylesheets().stream().map(path -> {
+            try {
+                return getClass().getResource(path).toExternalForm();
+            } catch (Exception e) {
+                System.err.println("Failed to load stylesheet: " + path);
+                e.printStackTrace();
+                return null;
+            }
+        }).filter(Objects::nonNull).distinct().toList();
+    }
+
     public String getFontFamily() {
         return fontFamily;
     }
@@ -147,7 +235,7 @@ public final class ThemeManager {
 
         this.fontFamily = fontFamily;
 
-        reloadCustomCSS();
+        scheduleReloadCustomCSS();
         EVENT_BUS.publish(new ThemeEvent(EventType.FONT_CHANGE));
     }
 
@@ -178,7 +266,7 @@ public final class ThemeManager {
                 .min(Comparator.comparingInt(i -> Math.abs(i - rawZoom)))
                 .orElseThrow(NoSuchElementException::new);
 
-        reloadCustomCSS();
+        scheduleReloadCustomCSS();
         EVENT_BUS.publish(new ThemeEvent(EventType.FONT_CHANGE));
     }
 
@@ -232,7 +320,7 @@ public final class ThemeManager {
 
     public void setNamedColors(Map<String, Color> colors) {
         Objects.requireNonNull(colors).forEach(this::setOrRemoveColor);
-        reloadCustomCSS();
+        scheduleReloadCustomCSS();
         EVENT_BUS.publish(new ThemeEvent(EventType.COLOR_CHANGE));
     }
 
@@ -240,7 +328,7 @@ public final class ThemeManager {
         for (String c : colors) {
             setOrRemoveColor(c, null);
         }
-        reloadCustomCSS();
+        scheduleReloadCustomCSS();
         EVENT_BUS.publish(new ThemeEvent(EventType.COLOR_CHANGE));
     }
 
@@ -295,58 +383,122 @@ public final class ThemeManager {
         }
     }
 
+    // Fades out the snapshot of the scene taken before the change. The snapshot image is
+    // reused between transitions, and large windows are captured at a lower resolution.
+    // If taking a snapshot is too slow, that change is applied without animation,
+    // the next one tries again, e.g. when the window gets smaller.
     private void animateThemeChange(Duration duration) {
-        Image snapshot = scene.snapshot(null);
+        // single change can consist of multiple steps (e.g. theme and accent color reset),
+        // the running transition still shows the state before the whole change
+        if (transition != null && transition.getStatus() == Animation.Status.RUNNING) {
+            return;
+        }
+
         Pane root = (Pane) scene.getRoot();
+        double width = scene.getWidth();
+        double height = scene.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        double scale = Math.min(1.0, Math.sqrt(MAX_SNAPSHOT_PIXELS / (width * height)));
+        int imageWidth = (int) Math.ceil(width * scale);
+        int imageHeight = (int) Math.ceil(height * scale);
+        if (transitionImage == null
+                || (int) transitionImage.getWidth() != imageWidth
+                || (int) transitionImage.getHeight() != imageHeight) {
+            transitionImage = new WritableImage(imageWidth, imageHeight);
+        }
+
+        var params = new SnapshotParameters();
+        params.setFill(scene.getFill());
+        if (scale < 1.0) {
+            params.setTransform(new Scale(scale, scale));
+        }
 
-        ImageView imageView = new ImageView(snapshot);
-        root.getChildren().add(imageView); // add snapshot on top
+        long start = System.nanoTime();
+        root.snapshot(params, transitionImage);
+        if (System.nanoTime() - start > SNAPSHOT_BUDGET) {
+            // the frame is already late, animation would only make it worse
+            return;
+        }
 
-        var transition = new Timeline(
-                new KeyFrame(Duration.ZERO, new KeyValue(imageView.opacityProperty(), 1, Interpolator.EASE_OUT)),
-                new KeyFrame(duration, new KeyValue(imageView.opacityProperty(), 0, Interpolator.EASE_OUT)));
-        transition.setOnFinished(e -> root.getChildren().remove(imageView));
+        if (transitionView == null) {
+            transitionView = new ImageView();
+            transitionView.setMouseTransparent(true);
+        }
+        transitionView.setImage(transitionImage);
+        transitionView.setFitWidth(width);
+        transitionView.setFitHeight(height);
+        transitionView.setOpacity(1);
+        root.getChildren().add(transitionView); // add snapshot on top
+
+        transition = new Timeline(
+                new KeyFrame(Duration.ZERO, new KeyValue(transitionView.opacityProperty(), 1, Interpolator.EASE_OUT)),
+                new KeyFrame(duration, new KeyValue(transitionView.opacityProperty(), 0, Interpolator.EASE_OUT)));
+        transition.setOnFinished(e -> {
+            root.getChildren().remove(transitionView);
+            // the pooled image must not be retained by the view after the transition
+            transitionView.setImage(null);
+        });
         transition.play();
     }
 
+    // several changes made by a single user action are applied at once on the next pulse
+    private void scheduleReloadCustomCSS() {
+        if (!customCSSReloadPending) {
+            customCSSReloadPending = true;
+            Platform.runLater(() -> {
+                if (customCSSReloadPending) {
+                    customCSSReloadPending = false;
+                    reloadCustomCSS();
+                }
+            });
+        }
+    }
+
+    // Declarations (looked-up colors, font family and size) are applied as the root
+    // inline style, so changing them doesn't require to parse any stylesheet. The inline
+    // style is owned by the theme manager and is rebuilt by a single setStyle() call.
+    // Rules can't be inlined, thus they're compiled into a stylesheet, which is only
+    // replaced when its content was actually changed.
     private void reloadCustomCSS() {
         Objects.requireNonNull(scene);
-        StringBuilder css = new StringBuilder();
-
-        css.append(".root:");
-        css.append(USER_CUSTOM.getPseudoClassName());
-        css.append(" {\n");
-        customCSSDeclarations.forEach((k, v) -> {
-            css.append("\t");
-            css.append(k);
-            css.append(":\s");
-            css.append(v);
-            css.append(";\n");
-        });
-        css.append("}\n");
-
-        customCSSRules.forEach((k, v) -> {
-            // custom CSS is applied to the body,
-            // thus it has a preference over accent color
-            css.append(".body:");
-            css.append(USER_CUSTOM.getPseudoClassName());
-            css.append(" ");
-            css.append(k);
-            css.append(" {");
-            css.append(v);
-            css.append("}\n");
-        });
+        var root = getScene().getRoot();
+
+        if (!customCSSDeclarations.equals(appliedDeclarations)) {
+            root.setStyle(CustomStyle.toInlineStyle(customCSSDeclarations));
+            appliedDeclarations.clear();
+            appliedDeclarations.putAll(customCSSDeclarations);
+        }
+
+        String rulesCss = CustomStyle.toRulesCss(customCSSRules, USER_CUSTOM.getPseudoClassName());
+        if (!rulesCss.equals(appliedRulesCss)) {
+            if (rulesStylesheet != null) {
+                root.getStylesheets().remove(rulesStylesheet);
+                rulesStylesheet = null;
+            }
+            if (!rulesCss.isEmpty()) {
+                rulesStylesheet = "data:text/css;base64," + Base64.getEncoder().encodeToString(rulesCss.getBytes(UTF_8));
+                root.getStylesheets().add(rulesStylesheet);
+            }
+            appliedRulesCss = rulesCss;
+        }
 
-        getScene().getRoot().getStylesheets().removeIf(uri -> uri.startsWith("data:text/css"));
-        getScene().getRoot().getStylesheets().add(
-                "data:text/css;base64," + Base64.getEncoder().encodeToString(css.toString().getBytes(UTF_8)));
-        getScene().getRoot().pseudoClassStateChanged(USER_CUSTOM, true);
+        root.pseudoClassStateChanged(USER_CUSTOM, true);
     }
 
     public void resetCustomCSS() {
+        customCSSReloadPending = false;
         customCSSDeclarations.clear();
         customCSSRules.clear();
-        getScene().getRoot().pseudoClassStateChanged(USER_CUSTOM, false);
+
+        // the rules stylesheet is kept, it's disabled by the pseudo-class
+        // and won't be reinstalled if the same rules are applied again
+        var root = getScene().getRoot();
+        root.setStyle("");
+        appliedDeclarations.clear();
+        root.pseudoClassStateChanged(USER_CUSTOM, false);
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -354,6 +506,7 @@ public final class ThemeManager {
     ///////////////////////////////////////////////////////////////////////////
 
     private ThemeManager() {
+        repository.setChangeListener(this::onThemeFileChanged);
     }
 
     private static class InstanceHolder {
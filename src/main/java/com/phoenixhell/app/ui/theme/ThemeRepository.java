@@ -1,8 +1,12 @@
 package com.phoenixhell.app.ui.theme;
 
+import static com.phoenixhell.app.Launcher.IS_DEV_MODE;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -11,15 +15,14 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-//requires java.prefs;
-import java.util.prefs.BackingStoreException;
-import java.util.prefs.Preferences;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.phoenixhell.app.FileResource;
 import com.phoenixhell.app.event.DefaultEventBus;
 import com.phoenixhell.app.event.ThemeEvent;
 import com.phoenixhell.app.event.ThemeEvent.EventType;
-import com.phoenixhell.app.util.Resources;
 
 import atlantafx.base.theme.CupertinoDark;
 import atlantafx.base.theme.CupertinoLight;
@@ -29,6 +32,7 @@ import atlantafx.base.theme.NordLight;
 import atlantafx.base.theme.PrimerDark;
 import atlantafx.base.theme.PrimerLight;
 import atlantafx.base.theme.Theme;
+import org.jetbrains.annotations.Nullable;
 
 public final class ThemeRepository {
 
@@ -43,16 +47,16 @@ public final class ThemeRepository {
             new SamplerTheme(new CupertinoDark()),
             new SamplerTheme(new Dracula()));
 
-    private final List<SamplerTheme> externalThemes = new ArrayList<>();
-    private final Preferences themePreferences = Resources.getPreferences().node("theme");
+    // also read by the watcher thread
+    private final List<SamplerTheme> externalThemes = new CopyOnWriteArrayList<>();
+    private final ThemeStore store = new ThemeStore();
+    private final ThemeWatcher watcher = new ThemeWatcher(this::onFileChanged);
+
+    private volatile Consumer<SamplerTheme> changeListener;
 
     public ThemeRepository() {
-        try {
-            loadPreferences();
-        } catch (BackingStoreException e) {
-            System.out.println("[WARNING] Unable to load themes from the preferences.");
-            e.printStackTrace();
-        }
+        loadExternalThemes();
+        getAll().forEach(this::watch);
     }
 
     public List<SamplerTheme> getAll() {
@@ -82,9 +86,11 @@ public final class ThemeRepository {
                     "A theme with the same name or user agent stylesheet already exists in the repository.");
         }
 
-        addToPreferences(theme);
+        store.put(new ThemeStore.Entry(theme.getName(), theme.getPath(), theme.isDarkMode()));
+        ThemeColorIndex.getInstance().precompute(List.of(theme));
         externalThemes.add(theme);
         externalThemes.sort(THEME_COMPARATOR);
+        watch(theme);
         DefaultEventBus.getInstance().publish(new ThemeEvent(EventType.THEME_ADD));
 
         return theme;
@@ -92,9 +98,45 @@ public final class ThemeRepository {
 
     public void remove(SamplerTheme theme) {
         Objects.requireNonNull(theme);
-        externalThemes.removeIf(t -> Objects.equals(t.getName(), theme.getName()));
+        for (SamplerTheme t : externalThemes) {
+            if (Objects.equals(t.getName(), theme.getName())) {
+                externalThemes.remove(t);
+                unwatch(t);
+            }
+        }
         DefaultEventBus.getInstance().publish(new ThemeEvent(EventType.THEME_REMOVE));
-        removeFromPreferences(theme);
+        store.remove(theme.getName());
+    }
+
+    /**
+     * Saves pending external themes changes immediately.
+     */
+    public void flush() {
+        store.flush();
+        ThemeColorIndex.getInstance().flush();
+    }
+
+    /**
+     * Stops watching theme files for changes.
+     */
+    public void stopWatching() {
+        watcher.close();
+    }
+
+    /**
+     * Sets the listener that is notified when the stylesheet of a theme is changed
+     * on disk. The listener is called on the watcher thread, after theme colors were
+     * invalidated.
+     */
+    void setChangeListener(Consumer<SamplerTheme> listener) {
+        this.changeListener = listener;
+    }
+
+    /**
+     * Computes colors of all themes in the background, so that the UI never parses CSS.
+     */
+    public void precomputeColors() {
+        ThemeColorIndex.getInstance().precompute(getAll());
     }
 
     public boolean isFileValid(Path path) {
@@ -115,31 +157,74 @@ public final class ThemeRepository {
         return true;
     }
 
-    private void loadPreferences() throws BackingStoreException {
-        for (String themeName : themePreferences.keys()) {
-            var uaStylesheet = themePreferences.get(themeName, "");
-            var uaStylesheetPath = Paths.get(uaStylesheet);
+    private void watch(SamplerTheme theme) {
+        Path path = getWatchablePath(theme);
+        if (path != null) {
+            watcher.watch(path);
+        }
+    }
+
+    private void unwatch(SamplerTheme theme) {
+        Path path = getWatchablePath(theme);
+        if (path != null) {
+            watcher.unwatch(path);
+        }
+    }
+
+    private void onFileChanged(Path path) {
+        for (SamplerTheme theme : getAll()) {
+            if (!path.equals(getWatchablePath(theme))) {
+                continue;
+            }
+
+            // only the changed theme is parsed again, the rest of the index is kept
+            var colorIndex = ThemeColorIndex.getInstance();
+            colorIndex.invalidate(theme);
+            colorIndex.precompute(List.of(theme));
+
+            var listener = changeListener;
+            if (listener != null) {
+                listener.accept(theme);
+            }
+        }
+    }
+
+    // external themes and, in dev mode, project themes loaded from the "theme-test/" folder
+    private static @Nullable Path getWatchablePath(SamplerTheme theme) {
+        FileResource resource = theme.getResource();
+        if (!resource.internal()) {
+            return resource.toPath().toAbsolutePath().normalize();
+        }
+
+        if (!IS_DEV_MODE) {
+            return null;
+        }
+
+        try {
+            URL url = resource.getURL();
+            return url != null && "file".equals(url.getProtocol())
+                    ? Paths.get(url.toURI()).toAbsolutePath().normalize()
+                    : null;
+        } catch (IOException | URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private void loadExternalThemes() {
+        for (ThemeStore.Entry entry : store.getAll()) {
+            var uaStylesheetPath = Paths.get(entry.path());
 
             // cleanup broken links, e.g. if theme was added for testing
             // but then CSS file was removed from the filesystem
             if (!isFileValid(uaStylesheetPath)) {
                 System.err.println(
                         "[WARNING] CSS file invalid or missing: \"" + uaStylesheetPath + "\". Removing silently.");
-                themePreferences.remove(themeName);
+                store.remove(entry.name());
                 continue;
             }
 
-            externalThemes.add(new SamplerTheme(
-                    Theme.of(themeName, uaStylesheet, uaStylesheetPath.getFileName().toString().contains("dark"))));
-            externalThemes.sort(THEME_COMPARATOR);
+            externalThemes.add(new SamplerTheme(Theme.of(entry.name(), entry.path(), entry.dark())));
         }
-    }
-
-    private void addToPreferences(SamplerTheme theme) {
-        themePreferences.put(theme.getName(), theme.getPath());
-    }
-
-    private void removeFromPreferences(SamplerTheme theme) {
-        themePreferences.remove(theme.getName());
+        externalThemes.sort(THEME_COMPARATOR);
     }
 }
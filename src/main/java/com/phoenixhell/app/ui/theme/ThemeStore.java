@@ -0,0 +1,225 @@
+package com.phoenixhell.app.ui.theme;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.phoenixhell.app.service.system.LocalDirService;
+import com.phoenixhell.app.service.system.TaskService;
+import com.phoenixhell.app.util.Resources;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Persistent registry of the external themes.
+ *
+ * <p>
+ * All registrations are kept in a single JSON file in the user data directory
+ * along with the theme metadata: name, stylesheet path and dark mode flag.
+ * Parsed theme colors are stored separately, see {@link ThemeColorIndex}.
+ * The file is read once on startup, changes are written in batches on
+ * a background thread, see {@link #flush()}.
+ *
+ * <p>
+ * Themes that were registered in {@code java.util.prefs} by previous versions
+ * are migrated on the first load.
+ */
+final class ThemeStore {
+
+    static final String STORE_FILE = "themes.json";
+    private static final int FORMAT_VERSION = 1;
+    private static final long FLUSH_DELAY = 1_000; // ms
+
+    private static final Executor WRITER = TaskService.getInstance().newSerialExecutor();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Entry> entries = new LinkedHashMap<>(); // by theme name
+    private final Path file;
+
+    private boolean dirty = false;
+    private ScheduledFuture<?> pendingFlush;
+
+    ThemeStore() {
+        this.file = resolveFile();
+        load();
+    }
+
+    public synchronized List<Entry> getAll() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized void put(Entry entry) {
+        Objects.requireNonNull(entry);
+        if (!entry.equals(entries.put(entry.name(), entry))) {
+            scheduleFlush();
+        }
+    }
+
+    public synchronized void remove(String name) {
+        if (entries.remove(name) != null) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Writes pending changes immediately.
+     */
+    public void flush() {
+        Map<String, Entry> snapshot;
+        synchronized (this) {
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+            if (!dirty || file == null) {
+                return;
+            }
+            dirty = false;
+            snapshot = new LinkedHashMap<>(entries);
+        }
+
+        try {
+            write(snapshot);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            System.err.println("[WARNING] Unable to save external themes to \"" + file + "\".");
+            e.printStackTrace();
+        }
+    }
+
+    private void scheduleFlush() {
+        dirty = true;
+        if (pendingFlush == null || pendingFlush.isDone()) {
+            pendingFlush = TaskService.getInstance().schedule(this::flush, FLUSH_DELAY, TimeUnit.MILLISECONDS, WRITER);
+        }
+    }
+
+    private void load() {
+        if (file == null) {
+            return;
+        }
+
+        if (!Files.exists(file)) {
+            migratePreferences();
+            return;
+        }
+
+        try {
+            JsonNode root = objectMapper.readTree(file.toFile());
+            for (JsonNode node : root.path("themes")) {
+                var entry = Entry.fromJson(node);
+                if (entry != null) {
+                    entries.put(entry.name(), entry);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[WARNING] Unable to load external themes from \"" + file + "\".");
+            e.printStackTrace();
+        }
+    }
+
+    // external themes used to be stored in java.util.prefs, name -> stylesheet path
+    private void migratePreferences() {
+        try {
+            Preferences prefs = Resources.getPreferences();
+            if (!prefs.nodeExists("theme")) {
+                return;
+            }
+
+            Preferences themePrefs = prefs.node("theme");
+            for (String name : themePrefs.keys()) {
+                String path = themePrefs.get(name, "");
+                boolean dark = Paths.get(path).getFileName().toString().contains("dark");
+                entries.put(name, new Entry(name, path, dark));
+            }
+
+            // the store must be written before the old registry is removed
+            dirty = true;
+            flush();
+            if (!dirty) {
+                themePrefs.removeNode();
+                prefs.flush();
+            }
+        } catch (BackingStoreException | RuntimeException e) {
+            System.err.println("[WARNING] Unable to migrate external themes from the preferences.");
+            e.printStackTrace();
+        }
+    }
+
+    private void write(Map<String, Entry> snapshot) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("version", FORMAT_VERSION);
+        ArrayNode themes = root.putArray("themes");
+        snapshot.values().forEach(entry -> themes.add(entry.toJson(objectMapper)));
+
+        // write to a temp file first, so that crash never leaves the store half-written
+        Path temp = file.resolveSibling(STORE_FILE + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), root);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static @Nullable Path resolveFile() {
+        try {
+            return Paths.get(LocalDirService.getUserDataDirPath(), STORE_FILE);
+        } catch (IOException e) {
+            System.err.println("[WARNING] Unable to access user data directory, external themes won't be saved.");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param name theme name
+     * @param path user agent stylesheet path
+     * @param dark whether the theme is dark
+     */
+    record Entry(String name, String path, boolean dark) {
+
+        Entry {
+            Objects.requireNonNull(name, "name");
+            Objects.requireNonNull(path, "path");
+        }
+
+        ObjectNode toJson(ObjectMapper mapper) {
+            return mapper.createObjectNode()
+                    .put("name", name)
+                    .put("path", path)
+                    .put("dark", dark);
+        }
+
+        static @Nullable Entry fromJson(JsonNode node) {
+            String name = node.path("name").textValue();
+            String path = node.path("path").textValue();
+            if (name == null || path == null) {
+                return null;
+            }
+
+            return new Entry(name, path, node.path("dark").asBoolean());
+        }
+    }
+}
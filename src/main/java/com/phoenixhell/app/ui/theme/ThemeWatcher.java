@@ -0,0 +1,170 @@
+package com.phoenixhell.app.ui.theme;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.phoenixhell.app.service.system.TaskService;
+
+/**
+ * Watches theme stylesheets for changes.
+ *
+ * <p>
+ * The watch service only supports directories, so the parent directory of every
+ * watched file is registered, and the events of other files are ignored. Editors
+ * usually save a file in several steps (truncate, write, rename), thus changes are
+ * collected until the directory is quiet for {@link #DEBOUNCE_DELAY} and then
+ * reported once per file. The listener is called on the watcher thread, which is
+ * a {@link TaskService} task running until the watcher is closed.
+ */
+final class ThemeWatcher implements AutoCloseable {
+
+    static final long DEBOUNCE_DELAY = 200; // ms
+
+    private final Consumer<Path> listener;
+    private final Map<Path, WatchKey> directories = new HashMap<>();
+    private final Set<Path> files = new HashSet<>();
+
+    private WatchService watchService;
+
+    public ThemeWatcher(Consumer<Path> listener) {
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    public synchronized void watch(Path file) {
+        Path path = normalize(file);
+        Path dir = path.getParent();
+        if (dir == null || !files.add(path)) {
+            return;
+        }
+
+        try {
+            if (!directories.containsKey(dir)) {
+                directories.put(dir, dir.register(getWatchService(), ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+            }
+        } catch (IOException e) {
+            files.remove(path);
+            System.err.println("[WARNING] Unable to watch theme file \"" + path + "\".");
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized void unwatch(Path file) {
+        Path path = normalize(file);
+        if (!files.remove(path)) {
+            return;
+        }
+
+        Path dir = path.getParent();
+        if (files.stream().noneMatch(f -> dir.equals(f.getParent()))) {
+            WatchKey key = directories.remove(dir);
+            if (key != null) {
+                key.cancel();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        directories.clear();
+        files.clear();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // nothing to do, the thread is stopped anyway
+            }
+            watchService = null;
+        }
+    }
+
+    private WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            var service = FileSystems.getDefault().newWatchService();
+            // waits for events most of the time, a virtual thread is enough,
+            // it ends when the watch service is closed
+            TaskService.getInstance().execute(() -> run(service));
+            watchService = service;
+        }
+        return watchService;
+    }
+
+    private void run(WatchService service) {
+        var changed = new LinkedHashSet<Path>();
+        try {
+            while (true) {
+                WatchKey key = changed.isEmpty()
+                        ? service.take()
+                        : service.poll(DEBOUNCE_DELAY, TimeUnit.MILLISECONDS);
+
+                if (key == null) {
+                    changed.forEach(this::dispatch);
+                    changed.clear();
+                    continue;
+                }
+
+                var dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        // events were lost, assume that all files of the directory were changed
+                        changed.addAll(getWatchedFiles(dir));
+                        continue;
+                    }
+
+                    Path path = dir.resolve((Path) event.context());
+                    if (isWatched(path)) {
+                        changed.add(path);
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // watcher is closed
+        }
+    }
+
+    private void dispatch(Path path) {
+        // removed file can't be reloaded, the last loaded version is kept
+        if (!Files.isRegularFile(path) || !isWatched(path)) {
+            return;
+        }
+
+        try {
+            listener.accept(path);
+        } catch (RuntimeException e) {
+            System.err.println("[WARNING] Unable to reload theme file \"" + path + "\".");
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized boolean isWatched(Path path) {
+        return files.contains(path);
+    }
+
+    private synchronized List<Path> getWatchedFiles(Path dir) {
+        return files.stream().filter(f -> dir.equals(f.getParent())).toList();
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
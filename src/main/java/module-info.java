@@ -19,7 +19,7 @@ module myapp {
     requires org.apache.commons.io; // Apache Commons IO 工具类库
     requires org.apache.commons.collections4; // Apache Commons Collections 工具类库
     // requires org.apache.logging.log4j; // Apache Log4j 日志库
-    requires org.reflections; // Reflections 反射扫描库
+    requires org.reflections; // Reflections 反射扫描库（开发模式下的组件扫描）
 
     // JSON 相关
     requires com.fasterxml.jackson.databind; // Jackson Databind
@@ -0,0 +1,214 @@
+package com.phoenixhell.app.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * 编译期生成组件索引 {@code com.phoenixhell.app.config.GeneratedComponentIndex}，
+ * 用于替代启动时的 Reflections classpath 扫描。
+ *
+ * 索引包含所有非抽象的 ViewAware 实现类，以及它们的 @View、@Service、@Control 字段
+ * 和 @PostConstruct 方法。
+ *
+ * 注意：处理器与注解类分开编译（见 pom.xml），因此这里只能通过全限定名引用注解，
+ * 不能直接依赖项目中的其他类。
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    private static final String VIEW_AWARE = "com.phoenixhell.app.contract.ViewAware";
+    private static final String VIEW = "com.phoenixhell.app.annotation.View";
+    private static final String SERVICE = "com.phoenixhell.app.annotation.Service";
+    private static final String CONTROL = "com.phoenixhell.app.annotation.Control";
+    private static final String POST_CONSTRUCT = "com.phoenixhell.app.annotation.PostConstruct";
+
+    private static final String INDEX_PACKAGE = "com.phoenixhell.app.config";
+    private static final String INDEX_CLASS = "GeneratedComponentIndex";
+
+    // 按类名排序，保证生成的代码稳定
+    private final TreeMap<String, Component> components = new TreeMap<>();
+    private boolean indexWritten = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement viewAware = processingEnv.getElementUtils().getTypeElement(VIEW_AWARE);
+        if (viewAware == null) {
+            return false;
+        }
+
+        TypeMirror viewAwareType = processingEnv.getTypeUtils().erasure(viewAware.asType());
+        int collected = components.size();
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element, viewAwareType);
+        }
+
+        // 第一轮即包含所有手写源码，立即生成索引，使其与源码一起编译
+        if (!indexWritten && !components.isEmpty()) {
+            writeIndex();
+            indexWritten = true;
+        } else if (indexWritten && components.size() > collected) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "组件索引已生成，之后生成的组件不会被收录");
+        }
+
+        // 不声明任何注解，其他处理器仍可处理
+        return false;
+    }
+
+    private void collect(Element element, TypeMirror viewAwareType) {
+        if (!(element instanceof TypeElement type)) {
+            return;
+        }
+
+        // 嵌套类也可能是组件
+        for (Element enclosed : type.getEnclosedElements()) {
+            collect(enclosed, viewAwareType);
+        }
+
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+
+        var typeUtils = processingEnv.getTypeUtils();
+        if (!typeUtils.isAssignable(typeUtils.erasure(type.asType()), viewAwareType)) {
+            return;
+        }
+
+        var component = new Component(processingEnv.getElementUtils().getBinaryName(type).toString());
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD) {
+                String name = member.getSimpleName().toString();
+                if (findAnnotation(member, VIEW) != null) {
+                    component.views.add(name);
+                }
+                if (findAnnotation(member, SERVICE) != null) {
+                    component.services.add(name);
+                }
+                AnnotationMirror control = findAnnotation(member, CONTROL);
+                if (control != null) {
+                    component.controls.add(new String[] { name, getValue(control).trim() });
+                }
+            }
+
+            if (member.getKind() == ElementKind.METHOD
+                    && findAnnotation(member, POST_CONSTRUCT) != null
+                    && ((ExecutableElement) member).getParameters().isEmpty()) {
+                component.initMethods.add(member.getSimpleName().toString());
+            }
+        }
+
+        components.put(component.className, component);
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            var annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String getValue(AnnotationMirror mirror) {
+        for (var entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                AnnotationValue value = entry.getValue();
+                return String.valueOf(value.getValue());
+            }
+        }
+        return "";
+    }
+
+    private void writeIndex() {
+        var sb = new StringBuilder();
+        sb.append("package ").append(INDEX_PACKAGE).append(";\n\n");
+        sb.append("import java.util.List;\n\n");
+        sb.append("// generated by ").append(getClass().getName()).append(", do not edit\n");
+        sb.append("public final class ").append(INDEX_CLASS).append(" implements ComponentIndex {\n\n");
+        sb.append("    private static final List<ComponentMetadata> COMPONENTS = List.of(");
+
+        var entries = new ArrayList<String>();
+        for (Component c : components.values()) {
+            var controls = new ArrayList<String>();
+            for (String[] control : c.controls) {
+                controls.add("new ComponentMetadata.ControlField(" + literal(control[0]) + ", "
+                        + literal(control[1]) + ")");
+            }
+
+            entries.add("\n            new ComponentMetadata(" + literal(c.className) + ",\n"
+                    + "                    " + listOf(literals(c.views)) + ",\n"
+                    + "                    " + listOf(literals(c.services)) + ",\n"
+                    + "                    " + listOf(controls) + ",\n"
+                    + "                    " + listOf(literals(c.initMethods)) + ")");
+        }
+        sb.append(String.join(",", entries));
+        sb.append("\n    );\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public List<ComponentMetadata> getComponents() {\n");
+        sb.append("        return COMPONENTS;\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        try {
+            var file = processingEnv.getFiler().createSourceFile(INDEX_PACKAGE + "." + INDEX_CLASS);
+            try (Writer writer = file.openWriter()) {
+                writer.write(sb.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "无法生成组件索引: " + e.getMessage());
+        }
+    }
+
+    private static List<String> literals(List<String> values) {
+        return values.stream().map(ComponentIndexProcessor::literal).toList();
+    }
+
+    private static String listOf(List<String> values) {
+        return "List.of(" + String.join(", ", values) + ")";
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static final class Component {
+
+        final String className;
+        final List<String> views = new ArrayList<>();
+        final List<String> services = new ArrayList<>();
+        final List<String[]> controls = new ArrayList<>(); // name, id
+        final List<String> initMethods = new ArrayList<>();
+
+        Component(String className) {
+            this.className = className;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.phoenixhell.app;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javafx.application.Platform;
+
+/**
+ * Starts the FX toolkit once per test JVM for the tests that need a scene.
+ *
+ * <p>
+ * Where the toolkit can't be started (e.g. a headless build agent without a
+ * display), {@link #start()} returns {@code false}, so that such tests can be
+ * skipped with an assumption instead of failing.
+ */
+public final class FxToolkit {
+
+    private static Boolean started;
+
+    private FxToolkit() {
+        // static helper
+    }
+
+    public static synchronized boolean start() {
+        if (started == null) {
+            started = startToolkit();
+        }
+        return started;
+    }
+
+    /**
+     * Runs the action on the FX thread and waits for the result.
+     */
+    public static <T> T call(Callable<T> action) throws Exception {
+        var future = new CompletableFuture<T>();
+        Platform.runLater(() -> {
+            try {
+                future.complete(action.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        try {
+            return future.get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean startToolkit() {
+        var latch = new CompletableFuture<Void>();
+        try {
+            Platform.startup(() -> latch.complete(null));
+        } catch (IllegalStateException e) {
+            // already started
+            return true;
+        } catch (RuntimeException | Error e) {
+            System.err.println("[WARNING] FX toolkit is not available: " + e);
+            return false;
+        }
+
+        try {
+            latch.get(10, TimeUnit.SECONDS);
+            Platform.setImplicitExit(false);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.phoenixhell.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.phoenixhell.app.config.MyControllerFactory.NodeIndex;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * 控件注入的微基准：在几千个节点的视图中解析一组典型的 @Control 字段，
+ * 比较之前每个字段单独 {@code lookup()} / {@code lookupAll("*")} 的方式与节点索引。
+ * 只输出耗时，断言两种方式的结果一致，不依赖机器性能。
+ */
+@Tag("benchmark")
+public class NodeIndexBenchmarkTest {
+
+    private static final int SECTIONS = 30;
+    private static final int ROWS = 20;
+    private static final int CELLS = 4;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 50;
+
+    // 典型的 Controller：按 id、按字段名、按唯一类型注入的单个控件，以及 List 和 Map
+    private static final List<String> IDS = List.of(
+            "section0", "section7", "section29", "row3_5", "row12_0", "row29_19",
+            "cell0_0_0", "cell15_10_2", "cell29_19_3", "footer", "missing"
+    );
+    private static final List<Class<?>> UNIQUE_TYPES = List.of(Circle.class);
+    private static final List<Class<?>> LIST_TYPES = List.of(HBox.class, Rectangle.class, StackPane.class);
+    private static final List<Class<?>> MAP_TYPES = List.of(VBox.class, HBox.class);
+
+    @Test
+    public void testInjectionLookup() {
+        Parent view = createView();
+        int nodes = view.lookupAll("*").size();
+        assertThat(nodes).isGreaterThan(3_000);
+
+        List<Object> expected = resolveWithLookup(view);
+        List<Object> actual = resolveWithIndex(view);
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(normalize(actual.get(i))).as("field %d", i).isEqualTo(normalize(expected.get(i)));
+        }
+
+        long[] lookupNanos = measure(() -> resolveWithLookup(view));
+        long[] indexNanos = measure(() -> resolveWithIndex(view));
+
+        System.out.printf(Locale.ROOT, "Control injection on %d nodes, %d fields (median / p90, ms): "
+                        + "lookup %.3f / %.3f, index %.3f / %.3f%n",
+                nodes, expected.size(),
+                percentile(lookupNanos, 50), percentile(lookupNanos, 90),
+                percentile(indexNanos, 50), percentile(indexNanos, 90));
+    }
+
+    // 之前的实现：每个字段单独遍历视图
+    private static List<Object> resolveWithLookup(Parent view) {
+        List<Object> result = new ArrayList<>();
+        for (String id : IDS) {
+            result.add(view.lookup("#" + id));
+        }
+        for (Class<?> type : UNIQUE_TYPES) {
+            List<Node> candidates = view.lookupAll("*").stream().filter(type::isInstance).toList();
+            result.add(candidates.size() == 1 ? candidates.get(0) : null);
+        }
+        for (Class<?> type : LIST_TYPES) {
+            result.add(view.lookupAll("*").stream().filter(type::isInstance).toList());
+        }
+        for (Class<?> type : MAP_TYPES) {
+            result.add(collectById(view, type));
+        }
+        return result;
+    }
+
+    // 当前的实现：视图只遍历一次
+    private static List<Object> resolveWithIndex(Parent view) {
+        var index = new NodeIndex(view);
+        List<NodeIndex> views = List.of(index);
+
+        List<Object> result = new ArrayList<>();
+        for (String id : IDS) {
+            result.add(index.findById(id));
+        }
+        for (Class<?> type : UNIQUE_TYPES) {
+            List<Node> candidates = index.findAll(type);
+            result.add(candidates.size() == 1 ? candidates.get(0) : null);
+        }
+        for (Class<?> type : LIST_TYPES) {
+            result.add(MyControllerFactory.findAll(views, type));
+        }
+        for (Class<?> type : MAP_TYPES) {
+            result.add(MyControllerFactory.findAllById(views, type));
+        }
+        return result;
+    }
+
+    // List 注入之前不保证顺序
+    private static Object normalize(Object value) {
+        if (value instanceof List<?> list) {
+            return new HashSet<>(list);
+        }
+        return value;
+    }
+
+    private static long[] measure(Supplier<List<Object>> action) {
+        long[] nanos = new long[ROUNDS];
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            long start = System.nanoTime();
+            action.get();
+            if (i >= WARMUP_ROUNDS) {
+                nanos[i - WARMUP_ROUNDS] = System.nanoTime() - start;
+            }
+        }
+        return nanos;
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    // 30 个区域，每个 20 行，每行 4 个单元格（StackPane + Rectangle），共约 5400 个节点
+    private static Parent createView() {
+        var view = new VBox();
+        view.setId("view");
+        for (int s = 0; s < SECTIONS; s++) {
+            var section = new VBox();
+            section.setId("section" + s);
+            for (int r = 0; r < ROWS; r++) {
+                var row = new HBox();
+                row.setId("row" + s + "_" + r);
+                for (int c = 0; c < CELLS; c++) {
+                    var cell = new StackPane(new Rectangle(4, 4));
+                    cell.setId("cell" + s + "_" + r + "_" + c);
+                    row.getChildren().add(cell);
+                }
+                section.getChildren().add(row);
+            }
+            view.getChildren().add(section);
+        }
+
+        var footer = new Pane(new Circle(2), new Region());
+        footer.setId("footer");
+        view.getChildren().add(footer);
+        return view;
+    }
+
+    private static Map<String, Node> collectById(Parent root, Class<?> type) {
+        Map<String, Node> result = new HashMap<>();
+        Queue<Parent> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            for (Node child : queue.poll().getChildrenUnmodifiable()) {
+                if (child.getId() != null && type.isInstance(child)) {
+                    result.put(child.getId(), child);
+                }
+                if (child instanceof Parent parent) {
+                    queue.add(parent);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,195 @@
+package com.phoenixhell.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.phoenixhell.app.config.MyControllerFactory.NodeIndex;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+
+/**
+ * 节点索引的查找结果必须与之前基于 {@code lookup()} / {@code lookupAll("*")} 的实现一致
+ */
+public class NodeIndexTest {
+
+    private static final List<Class<?>> TYPES = List.of(
+            Node.class, Parent.class, Region.class, Pane.class, VBox.class, HBox.class,
+            StackPane.class, Group.class, Shape.class, Rectangle.class, Circle.class
+    );
+
+    @Test
+    public void testFindByIdMatchesLookup() {
+        Parent view = createView();
+        var index = new NodeIndex(view);
+
+        Set<String> ids = new HashSet<>();
+        view.lookupAll("*").forEach(node -> {
+            if (node.getId() != null) {
+                ids.add(node.getId());
+            }
+        });
+
+        assertThat(ids).contains("view", "toolbar", "action0", "dup", "circle");
+        for (String id : ids) {
+            assertThat(index.findById(id)).as(id).isSameAs(view.lookup("#" + id));
+        }
+        assertThat(index.findById("missing")).isNull();
+        assertThat(view.lookup("#missing")).isNull();
+    }
+
+    @Test
+    public void testDuplicateIdResolvesToFirstNode() {
+        Parent view = createView();
+        var index = new NodeIndex(view);
+
+        // 先序遍历中第一个节点，与 lookup() 一致
+        assertThat(index.findById("dup")).isInstanceOf(Rectangle.class);
+        assertThat(index.findById("dup")).isSameAs(view.lookup("#dup"));
+    }
+
+    @Test
+    public void testFindAllMatchesLookupAll() {
+        Parent view = createView();
+        var index = new NodeIndex(view);
+
+        for (Class<?> type : TYPES) {
+            List<Node> expected = view.lookupAll("*").stream().filter(type::isInstance).toList();
+            List<Node> actual = index.findAll(type);
+
+            assertThat(actual).as(type.getSimpleName()).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(new HashSet<>(actual)).as(type.getSimpleName()).hasSize(actual.size());
+        }
+    }
+
+    @Test
+    public void testListInjectionIncludesRoot() {
+        Parent view = createView();
+
+        // lookupAll("*") 包括根节点本身
+        List<Node> nodes = MyControllerFactory.findAll(List.of(new NodeIndex(view)), Pane.class);
+        assertThat(nodes).contains(view);
+        assertThat(view.lookupAll("*")).contains(view);
+    }
+
+    @Test
+    public void testMapInjectionMatchesPreviousImplementation() {
+        Parent view = createView();
+        List<NodeIndex> views = List.of(new NodeIndex(view));
+
+        for (Class<?> type : TYPES) {
+            Map<String, Node> expected = collectById(view, type);
+            Map<String, Node> actual = MyControllerFactory.findAllById(views, type);
+
+            // 重复的 id 在之前的实现中取决于 HashSet 的顺序，只比较 id
+            assertThat(actual.keySet()).as(type.getSimpleName()).isEqualTo(expected.keySet());
+            expected.forEach((id, node) -> {
+                if (!"dup".equals(id)) {
+                    assertThat(actual.get(id)).as(id).isSameAs(node);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testMapInjectionExcludesRoot() {
+        Parent view = createView();
+        assertThat(view.getId()).isEqualTo("view");
+
+        Map<String, Node> nodes = MyControllerFactory.findAllById(List.of(new NodeIndex(view)), Pane.class);
+
+        assertThat(nodes).doesNotContainKey("view");
+        assertThat(nodes).containsKey("toolbar");
+    }
+
+    @Test
+    public void testMultipleViews() {
+        Parent first = createView();
+        var second = new VBox(new Circle(1));
+        second.getChildren().get(0).setId("second");
+
+        List<NodeIndex> views = List.of(new NodeIndex(first), new NodeIndex(second));
+
+        assertThat(MyControllerFactory.findAll(views, Circle.class)).hasSize(3);
+        assertThat(MyControllerFactory.findAllById(views, Circle.class)).containsOnlyKeys("circle", "second", "dup");
+    }
+
+    @Test
+    public void testEmptyView() {
+        var view = new Pane();
+        var index = new NodeIndex(view);
+
+        assertThat(index.findAll(Node.class)).containsExactly(view);
+        assertThat(index.findAll(Circle.class)).isEmpty();
+        assertThat(MyControllerFactory.findAllById(List.of(index), Node.class)).isEmpty();
+    }
+
+    // view
+    //  +- toolbar: action0..action4
+    //  +- content
+    //  |   +- stack: dup (Rectangle), circle
+    //  |   +- group: Circle (dup)
+    //  +- Region
+    static Parent createView() {
+        var toolbar = new HBox();
+        toolbar.setId("toolbar");
+        for (int i = 0; i < 5; i++) {
+            var action = new Region();
+            action.setId("action" + i);
+            toolbar.getChildren().add(action);
+        }
+
+        var rect = new Rectangle(10, 10);
+        rect.setId("dup");
+        var circle = new Circle(5);
+        circle.setId("circle");
+        var stack = new StackPane(rect, circle);
+
+        var dupCircle = new Circle(3);
+        dupCircle.setId("dup");
+        var group = new Group(dupCircle);
+
+        var content = new VBox(stack, group);
+        content.setId("content");
+
+        var view = new VBox(toolbar, content, new Region());
+        view.setId("view");
+        return view;
+    }
+
+    // 之前 Map 注入使用的遍历方式，只收集子节点
+    private static Map<String, Node> collectById(Parent root, Class<?> type) {
+        Map<String, Node> result = new HashMap<>();
+        Queue<Parent> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            for (Node child : queue.poll().getChildrenUnmodifiable()) {
+                if (child.getId() != null && type.isInstance(child)) {
+                    result.put(child.getId(), child);
+                }
+                if (child instanceof Parent parent) {
+                    queue.add(parent);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+package com.phoenixhell.app.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the publish cost of the cached dispatch with the stream-based lookup
+ * the bus used before, with a subscriber setup similar to the application
+ * (a few broad subscribers and many subscribers of specific event types).
+ * Timings are printed, the assertions only check that both deliver the same
+ * events, so the test doesn't depend on the machine speed.
+ */
+@Tag("benchmark")
+public class DefaultEventBusBenchmarkTest {
+
+    private static final int EVENTS = 200_000;
+    private static final int ROUNDS = 7;
+
+    private static final List<Class<? extends Event>> TYPES = List.of(
+            EventA.class, EventB.class, EventC.class, EventD.class, EventE.class,
+            EventF.class, EventG.class, EventH.class, SubEventA.class, SubEventB.class
+    );
+
+    @Test
+    public void testPublish() {
+        var cached = new DefaultEventBus(Runnable::run, () -> true);
+        var streamed = new StreamEventBus();
+        long[] cachedCounter = new long[1];
+        long[] streamedCounter = new long[1];
+        subscribe(cached::subscribe, cachedCounter);
+        subscribe(streamed::subscribe, streamedCounter);
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            events.add(newEvent(TYPES.get(i % TYPES.size())));
+        }
+
+        long[] cachedNanos = new long[ROUNDS];
+        long[] streamedNanos = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            streamedNanos[round] = publish(streamed::publish, events);
+            cachedNanos[round] = publish(cached::publish, events);
+        }
+
+        assertThat(cachedCounter[0]).isEqualTo(streamedCounter[0]);
+        assertThat(cachedCounter[0]).isGreaterThan((long) EVENTS * ROUNDS);
+
+        System.out.printf(Locale.ROOT, "Publish of %d events to %d event types (median ns per event): "
+                        + "stream %.1f, cached %.1f%n",
+                EVENTS, TYPES.size() + 1, median(streamedNanos) / (double) EVENTS, median(cachedNanos) / (double) EVENTS);
+    }
+
+    // two broad subscribers and three subscribers of every specific type
+    private static void subscribe(Subscriber subscribe, long[] counter) {
+        subscribe.subscribe(Event.class, e -> counter[0]++);
+        subscribe.subscribe(EventA.class, e -> counter[0]++);
+        for (Class<? extends Event> type : TYPES) {
+            for (int i = 0; i < 3; i++) {
+                subscribe.subscribe(type, e -> counter[0]++);
+            }
+        }
+    }
+
+    private static long publish(Consumer<Event> publish, List<Event> events) {
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            publish.accept(events.get(i & 63));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static Event newEvent(Class<? extends Event> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    @FunctionalInterface
+    private interface Subscriber {
+
+        void subscribe(Class<? extends Event> type, Consumer<Event> subscriber);
+    }
+
+    // the publish path of the bus before the dispatch cache
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class StreamEventBus {
+
+        private final Map<Class<?>, Set<Consumer>> subscribers = new ConcurrentHashMap<>();
+
+        void subscribe(Class<? extends Event> eventType, Consumer<Event> subscriber) {
+            subscribers.computeIfAbsent(eventType, k -> new CopyOnWriteArraySet<>()).add(subscriber);
+        }
+
+        void publish(Event event) {
+            Class<?> eventType = event.getClass();
+            subscribers.keySet().stream()
+                    .filter(type -> type.isAssignableFrom(eventType))
+                    .flatMap(type -> subscribers.get(type).stream())
+                    .forEach(subscriber -> {
+                        try {
+                            subscriber.accept(event);
+                        } catch (Exception e) {
+                            Thread.currentThread().getUncaughtExceptionHandler()
+                                    .uncaughtException(Thread.currentThread(), e);
+                        }
+                    });
+        }
+    }
+
+    static class EventA extends Event {
+    }
+
+    static class EventB extends Event {
+    }
+
+    static class EventC extends Event {
+    }
+
+    static class EventD extends Event {
+    }
+
+    static class EventE extends Event {
+    }
+
+    static class EventF extends Event {
+    }
+
+    static class EventG extends Event {
+    }
+
+    static class EventH extends Event {
+    }
+
+    static class SubEventA extends EventA {
+    }
+
+    static class SubEventB extends EventB {
+    }
+}
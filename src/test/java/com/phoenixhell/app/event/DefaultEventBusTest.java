@@ -0,0 +1,322 @@
+package com.phoenixhell.app.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.phoenixhell.app.util.LatencyHistogram;
+
+public class DefaultEventBusTest {
+
+    // runLater() replacement, tasks run when the test drains the queue
+    private final Queue<Runnable> fxTasks = new ArrayDeque<>();
+    private final DefaultEventBus bus = new DefaultEventBus(fxTasks::add, () -> false);
+
+    @Test
+    public void testQueuedFxEventIsNotDeliveredAfterUnsubscribe() {
+        var received = new ArrayList<Event>();
+        Subscription subscription = bus.subscribe(TestEvent.class, received::add, DeliveryMode.FX_THREAD);
+
+        bus.publish(new TestEvent("a"));
+        subscription.unsubscribe();
+        drainFxTasks();
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    public void testCoalescedEventIsNotDeliveredAfterUnsubscribe() {
+        var received = new ArrayList<Event>();
+        Consumer<TestEvent> subscriber = received::add;
+        bus.subscribe(TestEvent.class, subscriber, DeliveryMode.FX_COALESCED);
+
+        bus.publish(new TestEvent("a"));
+        bus.unsubscribe(subscriber);
+        drainFxTasks();
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    public void testQueuedFxEventIsNotDeliveredAfterUnregister() {
+        var owner = new Owner();
+        bus.register(owner);
+
+        bus.publish(new TestEvent("a"));
+        bus.unregister(owner);
+        drainFxTasks();
+
+        assertThat(owner.received).isEmpty();
+    }
+
+    @Test
+    public void testResubscribedConsumerOnlyGetsNewEvents() {
+        var received = new ArrayList<String>();
+        Consumer<TestEvent> subscriber = e -> received.add(e.name);
+
+        Subscription first = bus.subscribe(TestEvent.class, subscriber, DeliveryMode.FX_THREAD);
+        bus.publish(new TestEvent("before detach"));
+        first.unsubscribe();
+
+        bus.subscribe(TestEvent.class, subscriber, DeliveryMode.FX_THREAD);
+        bus.publish(new TestEvent("after attach"));
+        drainFxTasks();
+
+        assertThat(received).containsExactly("after attach");
+    }
+
+    @Test
+    public void testFxEventsAreDeliveredInOrder() {
+        var received = new ArrayList<String>();
+        bus.subscribe(TestEvent.class, e -> received.add(e.name), DeliveryMode.FX_THREAD);
+
+        bus.publish(new TestEvent("a"));
+        bus.publish(new TestEvent("b"));
+        bus.publish(new TestEvent("c"));
+
+        // a burst is drained by a single FX task
+        assertThat(fxTasks).hasSize(1);
+        drainFxTasks();
+        assertThat(received).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void testCoalescedEventsAreMergedPerKey() {
+        var received = new ArrayList<String>();
+        bus.subscribe(TestEvent.class, e -> received.add(e.name), DeliveryMode.FX_COALESCED);
+
+        bus.publish(new TestEvent("a"));
+        bus.publish(new TestEvent("b"));
+        drainFxTasks();
+
+        assertThat(received).containsExactly("b");
+    }
+
+    @Test
+    public void testSubscriberCount() {
+        Consumer<TestEvent> subscriber = e -> { };
+        Subscription subscription = bus.subscribe(TestEvent.class, subscriber);
+        bus.subscribe(Event.class, e -> { });
+        var owner = new Owner();
+        bus.register(owner);
+
+        assertThat(bus.getSubscriberCount()).isEqualTo(3);
+
+        subscription.unsubscribe();
+        bus.unregister(owner);
+
+        assertThat(bus.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCacheIsInvalidatedOnSubscribe() {
+        var received = new ArrayList<String>();
+        bus.subscribe(TestEvent.class, e -> received.add("first"));
+        bus.publish(new TestEvent("a")); // resolved and cached
+
+        bus.subscribe(TestEvent.class, e -> received.add("second"));
+        bus.publish(new TestEvent("b"));
+
+        assertThat(received).containsExactly("first", "first", "second");
+    }
+
+    @Test
+    public void testCacheIsInvalidatedOnUnsubscribe() {
+        var received = new ArrayList<String>();
+        Consumer<TestEvent> first = e -> received.add("first");
+        Consumer<TestEvent> second = e -> received.add("second");
+        Subscription third = bus.subscribe(TestEvent.class, e -> received.add("third"));
+        bus.subscribe(TestEvent.class, first);
+        bus.subscribe(TestEvent.class, second);
+        bus.publish(new TestEvent("a"));
+
+        received.clear();
+        bus.unsubscribe(first);
+        bus.publish(new TestEvent("b"));
+        assertThat(received).containsExactly("third", "second");
+
+        received.clear();
+        bus.unsubscribe(TestEvent.class, second);
+        bus.publish(new TestEvent("c"));
+        assertThat(received).containsExactly("third");
+
+        received.clear();
+        third.unsubscribe();
+        bus.publish(new TestEvent("d"));
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    public void testCacheIsInvalidatedOnRegister() {
+        var owner = new SyncOwner();
+        bus.publish(new TestEvent("a")); // resolved and cached without the owner
+
+        bus.register(owner);
+        bus.publish(new TestEvent("b"));
+        assertThat(owner.received).containsExactly("b");
+
+        bus.unregister(owner);
+        bus.publish(new TestEvent("c"));
+        assertThat(owner.received).containsExactly("b");
+    }
+
+    @Test
+    public void testSupertypeSubscribers() {
+        var received = new ArrayList<String>();
+        bus.subscribe(Event.class, e -> received.add("event"));
+        bus.subscribe(TestEvent.class, e -> received.add("test"));
+        bus.subscribe(SubEvent.class, e -> received.add("sub"));
+        bus.subscribe(OtherEvent.class, e -> received.add("other"));
+
+        bus.publish(new SubEvent("a"));
+        assertThat(received).containsExactly("event", "test", "sub");
+
+        received.clear();
+        bus.publish(new TestEvent("b"));
+        assertThat(received).containsExactly("event", "test");
+    }
+
+    @Test
+    public void testSupertypeSubscriberAddedAfterSubtypeWasCached() {
+        var received = new ArrayList<String>();
+        bus.subscribe(SubEvent.class, e -> received.add("sub"));
+        bus.publish(new SubEvent("a"));
+
+        received.clear();
+        bus.subscribe(Event.class, e -> received.add("event"));
+        bus.publish(new SubEvent("b"));
+
+        // in the subscription order, not by the type hierarchy
+        assertThat(received).containsExactly("sub", "event");
+    }
+
+    @Test
+    public void testUnsubscribeBySupertypeRemovesSubtypeSubscriptions() {
+        var received = new ArrayList<String>();
+        Consumer<Event> subscriber = e -> received.add(e.getClass().getSimpleName());
+        bus.subscribe(SubEvent.class, subscriber);
+        bus.subscribe(OtherEvent.class, subscriber);
+        bus.publish(new SubEvent("a"));
+
+        bus.unsubscribe(TestEvent.class, subscriber);
+        bus.publish(new SubEvent("b"));
+        bus.publish(new OtherEvent());
+
+        assertThat(received).containsExactly("SubEvent", "OtherEvent");
+    }
+
+    @Test
+    public void testResubscribeReturnsHandleOfExistingSubscription() {
+        var received = new ArrayList<TestEvent>();
+        Consumer<TestEvent> subscriber = received::add;
+        Subscription first = bus.subscribe(TestEvent.class, subscriber, DeliveryMode.FX_THREAD);
+        Subscription second = bus.subscribe(TestEvent.class, subscriber, DeliveryMode.FX_THREAD);
+        assertThat(bus.getSubscriberCount()).isEqualTo(1);
+
+        bus.publish(new TestEvent("queued"));
+        second.unsubscribe();
+        drainFxTasks();
+
+        assertThat(received).isEmpty();
+        assertThat(bus.getSubscriberCount()).isZero();
+        // releasing the other handle is harmless
+        first.unsubscribe();
+        assertThat(bus.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    public void testResubscribeWithAnotherModeIsRejected() {
+        Consumer<TestEvent> subscriber = e -> { };
+        bus.subscribe(TestEvent.class, subscriber, DeliveryMode.SYNC);
+
+        assertThatThrownBy(() -> bus.subscribe(TestEvent.class, subscriber, DeliveryMode.FX_THREAD))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(bus.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStatsAreRecordedPerListener() {
+        var stats = new EventBusStats(0, TimeUnit.MILLISECONDS);
+        bus.setStats(stats);
+        // two lambdas of the same class
+        bus.subscribe(TestEvent.class, e -> { });
+        bus.subscribe(TestEvent.class, e -> { }, DeliveryMode.SYNC);
+        // the same listener subscribed again, e.g. when a page is attached again
+        for (int i = 0; i < 10; i++) {
+            bus.subscribe(TestEvent.class, newCounter(new ArrayList<>()));
+            bus.register(new SyncOwner());
+        }
+
+        bus.publish(new TestEvent("a"));
+        bus.publish(new SubEvent("b"));
+
+        Map<String, LatencyHistogram> latency = stats.getSubscriberLatency();
+        assertThat(latency).hasSize(4);
+        assertThat(latency.keySet().stream().filter(name -> name.endsWith(" [TestEvent, SYNC]")).toList()).hasSize(4);
+        assertThat(latency.entrySet().stream()
+                .filter(e -> e.getKey().contains("SyncOwner#onTestEvent"))
+                .map(e -> e.getValue().getCount())
+                .toList()).containsExactly(20L);
+    }
+
+    private static Consumer<TestEvent> newCounter(List<String> received) {
+        return e -> received.add(e.name);
+    }
+
+    private void drainFxTasks() {
+        Runnable task;
+        while ((task = fxTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    static class TestEvent extends Event {
+
+        final String name;
+
+        TestEvent(String name) {
+            this.name = name;
+        }
+    }
+
+    static class SubEvent extends TestEvent {
+
+        SubEvent(String name) {
+            super(name);
+        }
+    }
+
+    static class OtherEvent extends Event {
+    }
+
+    static class SyncOwner {
+
+        final List<String> received = new ArrayList<>();
+
+        @Listener
+        void onTestEvent(TestEvent event) {
+            received.add(event.name);
+        }
+    }
+
+    static class Owner {
+
+        final List<TestEvent> received = new ArrayList<>();
+
+        @Listener(mode = DeliveryMode.FX_THREAD)
+        void onTestEvent(TestEvent event) {
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.phoenixhell.app.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class EventJournalTest {
+
+    @Test
+    public void testEventsAreReturnedOldestFirst() {
+        var journal = new EventJournal(5);
+        List<TestEvent> events = events(3);
+        events.forEach(journal::record);
+
+        assertThat(journal.size()).isEqualTo(3);
+        assertThat(journal.getEvents()).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    public void testFullBufferOverwritesOldestEvents() {
+        var journal = new EventJournal(3);
+        List<TestEvent> events = events(5);
+        events.forEach(journal::record);
+
+        assertThat(journal.size()).isEqualTo(3);
+        assertThat(journal.getEvents()).containsExactlyElementsOf(events.subList(2, 5));
+    }
+
+    @Test
+    public void testOrderIsKeptOverManyWraparounds() {
+        int capacity = 7;
+        var journal = new EventJournal(capacity);
+        List<TestEvent> events = events(capacity * 10 + 3);
+
+        for (int i = 0; i < events.size(); i++) {
+            journal.record(events.get(i));
+
+            int from = Math.max(0, i + 1 - capacity);
+            assertThat(journal.getEvents()).containsExactlyElementsOf(events.subList(from, i + 1));
+        }
+    }
+
+    @Test
+    public void testExactlyFullBuffer() {
+        var journal = new EventJournal(4);
+        List<TestEvent> events = events(4);
+        events.forEach(journal::record);
+
+        assertThat(journal.size()).isEqualTo(4);
+        assertThat(journal.getEvents()).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    public void testSingleSlotBuffer() {
+        var journal = new EventJournal(1);
+        List<TestEvent> events = events(3);
+        events.forEach(journal::record);
+
+        assertThat(journal.getEvents()).containsExactly(events.get(2));
+    }
+
+    @Test
+    public void testClear() {
+        var journal = new EventJournal(3);
+        events(5).forEach(journal::record);
+        journal.clear();
+
+        assertThat(journal.size()).isEqualTo(0);
+        assertThat(journal.getEvents()).isEmpty();
+
+        List<TestEvent> events = events(2);
+        events.forEach(journal::record);
+        assertThat(journal.getEvents()).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    public void testReplayPublishesInOriginalOrder() {
+        var journal = new EventJournal(4);
+        List<TestEvent> events = events(6);
+        events.forEach(journal::record);
+
+        var bus = new DefaultEventBus(Runnable::run, () -> true);
+        var replayed = new ArrayList<Event>();
+        bus.subscribe(TestEvent.class, replayed::add);
+        journal.replay(bus);
+
+        assertThat(replayed).containsExactlyElementsOf(events.subList(2, 6));
+    }
+
+    @Test
+    public void testBusRecordsPublishedEvents() {
+        var journal = new EventJournal(2);
+        var bus = new DefaultEventBus(Runnable::run, () -> true);
+        bus.setJournal(journal);
+
+        List<TestEvent> events = events(3);
+        events.forEach(bus::publish);
+
+        assertThat(journal.getEvents()).containsExactlyElementsOf(events.subList(1, 3));
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThatThrownBy(() -> new EventJournal(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<TestEvent> events(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new TestEvent()).toList();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    static class TestEvent extends Event {
+    }
+}
@@ -0,0 +1,172 @@
+package com.phoenixhell.app.service.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SettingsStoreTest {
+
+    private static final String NAME = "settings";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        var store = new SettingsStore(dir, NAME);
+        var settings = new HashMap<>(store.load());
+        assertThat(settings).isEmpty();
+
+        settings.put("THEME", "DARK");
+        settings.put("LOCALE", "en");
+        store.save(settings, List.of("THEME", "LOCALE"));
+        settings.remove("LOCALE");
+        store.save(settings, List.of("LOCALE"));
+
+        assertThat(new SettingsStore(dir, NAME).load()).isEqualTo(Map.of("THEME", "DARK"));
+    }
+
+    @Test
+    public void testSaveWithoutKeys() throws IOException {
+        var store = new SettingsStore(dir, NAME);
+        var settings = new HashMap<>(store.load());
+
+        // no journal yet
+        store.save(settings, List.of());
+
+        settings.put("THEME", "DARK");
+        store.save(settings, List.of("THEME"));
+        store.save(settings, List.of());
+
+        assertThat(new SettingsStore(dir, NAME).load()).isEqualTo(Map.of("THEME", "DARK"));
+    }
+
+    @Test
+    public void testLoadReplaysJournalAfterSnapshot() throws IOException {
+        write(NAME, "{\"THEME\":\"LIGHT\",\"LOCALE\":\"en\",\"__SEQ\":\"2\"}");
+        write(NAME + ".journal", """
+                {"seq":3,"key":"THEME","value":"DARK"}
+                {"seq":4,"key":"LOCALE","value":null}
+                {"seq":5,"key":"DEMO","value":"text"}
+                """);
+
+        var store = new SettingsStore(dir, NAME);
+
+        assertThat(store.load()).isEqualTo(Map.of("THEME", "DARK", "DEMO", "text"));
+        assertThat(store.getJournalSeq()).isEqualTo(5);
+        assertThat(store.isCompactPending()).isFalse();
+    }
+
+    @Test
+    public void testLoadSkipsRecordsAlreadyInSnapshot() throws IOException {
+        // the journal wasn't deleted after the snapshot was written
+        write(NAME, "{\"THEME\":\"DARK\",\"__SEQ\":\"3\"}");
+        write(NAME + ".journal", """
+                {"seq":1,"key":"THEME","value":"LIGHT"}
+                {"seq":2,"key":"LOCALE","value":"en"}
+                {"seq":3,"key":"LOCALE","value":null}
+                """);
+
+        var store = new SettingsStore(dir, NAME);
+
+        assertThat(store.load()).isEqualTo(Map.of("THEME", "DARK"));
+        // new records must continue after the snapshot
+        assertThat(store.getJournalSeq()).isEqualTo(3);
+    }
+
+    @Test
+    public void testLoadIgnoresTornLastRecord() throws IOException {
+        write(NAME + ".journal", """
+                {"seq":1,"key":"THEME","value":"DARK"}
+                {"seq":2,"key":"LOC""");
+
+        var store = new SettingsStore(dir, NAME);
+        var settings = new HashMap<>(store.load());
+
+        assertThat(settings).isEqualTo(Map.of("THEME", "DARK"));
+        assertThat(store.isCompactPending()).isTrue();
+
+        // the next save must not append to the torn line
+        settings.put("LOCALE", "en");
+        store.save(settings, List.of("LOCALE"));
+
+        assertThat(store.isCompactPending()).isFalse();
+        assertThat(dir.resolve(NAME + ".journal")).doesNotExist();
+        assertThat(new SettingsStore(dir, NAME).load()).isEqualTo(Map.of("THEME", "DARK", "LOCALE", "en"));
+    }
+
+    @Test
+    public void testLargeValueIsKeptOutOfJournalAndSnapshot() throws IOException {
+        var store = new SettingsStore(dir, NAME);
+        var settings = new HashMap<>(store.load());
+        settings.put("THEME", "DARK");
+
+        String text = "";
+        for (int i = 0; i < 100; i++) {
+            text = "x".repeat(SettingsStore.EXTERNAL_THRESHOLD * 4) + i;
+            settings.put("DEMO", text);
+            store.save(settings, List.of("THEME", "DEMO"));
+        }
+
+        // 100 saves of a 16K value would've compacted the journal several times
+        assertThat(Files.size(dir.resolve(NAME + ".journal"))).isLessThan(SettingsStore.COMPACT_THRESHOLD);
+        assertThat(dir.resolve(NAME)).doesNotExist();
+        assertThat(Files.readString(dir.resolve(NAME + ".values/DEMO"))).isEqualTo(text);
+        assertThat(new SettingsStore(dir, NAME).load()).isEqualTo(Map.of("THEME", "DARK", "DEMO", text));
+    }
+
+    @Test
+    public void testLargeValueAfterCompaction() throws IOException {
+        var store = new SettingsStore(dir, NAME);
+        var settings = new HashMap<>(store.load());
+        String text = "x".repeat(SettingsStore.EXTERNAL_THRESHOLD + 1);
+        settings.put("DEMO", text);
+        store.save(settings, List.of("DEMO"));
+
+        // small records until the journal is compacted
+        for (int i = 0; Files.exists(dir.resolve(NAME + ".journal")); i++) {
+            settings.put("WINDOW_X", String.valueOf(i));
+            store.save(settings, List.of("WINDOW_X"));
+        }
+
+        String snapshot = Files.readString(dir.resolve(NAME));
+        assertThat(snapshot).doesNotContain(text).contains("\"__EXTERNAL\":\"DEMO\"");
+        assertThat(snapshot.length()).isLessThan(SettingsStore.EXTERNAL_THRESHOLD);
+        assertThat(new SettingsStore(dir, NAME).load()).isEqualTo(settings);
+    }
+
+    @Test
+    public void testLargeValueReplacedBySmallValue() throws IOException {
+        var store = new SettingsStore(dir, NAME);
+        var settings = new HashMap<>(store.load());
+        settings.put("DEMO", "x".repeat(SettingsStore.EXTERNAL_THRESHOLD + 1));
+        store.save(settings, List.of("DEMO"));
+        assertThat(dir.resolve(NAME + ".values/DEMO")).exists();
+
+        settings.put("DEMO", "short");
+        store.save(settings, List.of("DEMO"));
+
+        assertThat(dir.resolve(NAME + ".values/DEMO")).doesNotExist();
+        assertThat(new SettingsStore(dir, NAME).load()).isEqualTo(Map.of("DEMO", "short"));
+    }
+
+    @Test
+    public void testMissingValueFileIsIgnored() throws IOException {
+        write(NAME, "{\"THEME\":\"DARK\",\"__SEQ\":\"1\",\"__EXTERNAL\":\"DEMO\"}");
+
+        assertThat(new SettingsStore(dir, NAME).load()).isEqualTo(Map.of("THEME", "DARK"));
+    }
+
+    private void write(String fileName, String content) throws IOException {
+        Files.writeString(dir.resolve(fileName), content, StandardCharsets.UTF_8);
+    }
+}
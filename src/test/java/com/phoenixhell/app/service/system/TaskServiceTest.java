@@ -0,0 +1,100 @@
+package com.phoenixhell.app.service.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskServiceTest {
+
+    private final TaskService taskService = TaskService.getInstance();
+
+    @Test
+    public void testSerialExecutorKeepsOrder() throws InterruptedException {
+        testKeepsOrder(taskService.newSerialExecutor());
+        testKeepsOrder(taskService.newSerialComputeExecutor());
+    }
+
+    @Test
+    public void testSerialExecutorRunsOneTaskAtATime() throws InterruptedException {
+        Executor executor = taskService.newSerialComputeExecutor();
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(2);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSerialExecutorSurvivesFailedTask() throws InterruptedException {
+        Executor executor = taskService.newSerialExecutor();
+        var done = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testScheduleRunsOnGivenExecutor() throws InterruptedException {
+        Executor executor = taskService.newSerialExecutor();
+        var done = new CountDownLatch(1);
+
+        ScheduledFuture<?> future = taskService.schedule(done::countDown, 10, TimeUnit.MILLISECONDS, executor);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.isCancelled()).isFalse();
+    }
+
+    @Test
+    public void testCancelledScheduleNeverRuns() throws InterruptedException {
+        var counter = new AtomicInteger();
+
+        ScheduledFuture<?> future = taskService.schedule(counter::incrementAndGet, 100, TimeUnit.MILLISECONDS,
+                taskService.newSerialExecutor());
+        future.cancel(false);
+        Thread.sleep(300);
+
+        assertThat(counter.get()).isEqualTo(0);
+    }
+
+    private void testKeepsOrder(Executor executor) throws InterruptedException {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        var done = new CountDownLatch(1);
+
+        IntStream.range(0, 100).forEach(i -> executor.execute(() -> result.add(i)));
+        executor.execute(done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(result).containsExactlyElementsOf(IntStream.range(0, 100).boxed().toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.phoenixhell.app.ui.layout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+
+import com.phoenixhell.app.ui.page.Page;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+
+public class PageCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedPageByEntryCount() {
+        var cache = new PageCache(2, 1_000);
+        var a = new PageA(1);
+        var b = new PageB(1);
+        var c = new PageC(1);
+
+        cache.put(a);
+        cache.put(b);
+        cache.put(c);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.contains(PageA.class)).isFalse();
+        assertThat(cache.contains(PageB.class)).isTrue();
+        assertThat(cache.contains(PageC.class)).isTrue();
+        assertThat(a.disposed).isTrue();
+        assertThat(b.disposed).isFalse();
+        assertThat(c.disposed).isFalse();
+    }
+
+    @Test
+    public void testTakenPageIsMostRecentlyUsedWhenPutBack() {
+        var cache = new PageCache(2, 1_000);
+        var a = new PageA(1);
+        var b = new PageB(1);
+
+        cache.put(a);
+        cache.put(b);
+
+        // taken page is owned by the caller again, putting it back makes it the most recent one
+        assertThat(cache.take(PageA.class)).isSameAs(a);
+        assertThat(cache.take(PageA.class)).isNull();
+        cache.put(a);
+        cache.put(new PageC(1));
+
+        assertThat(cache.contains(PageB.class)).isFalse();
+        assertThat(cache.contains(PageA.class)).isTrue();
+        assertThat(b.disposed).isTrue();
+        assertThat(a.disposed).isFalse();
+    }
+
+    @Test
+    public void testEvictsByNodeCount() {
+        // root pane plus children
+        var cache = new PageCache(10, 25);
+        var a = new PageA(9);  // 10 nodes
+        var b = new PageB(9);  // 10 nodes
+        var c = new PageC(9);  // 10 nodes
+
+        cache.put(a);
+        cache.put(b);
+        assertThat(cache.getTotalNodes()).isEqualTo(20);
+
+        cache.put(c);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getTotalNodes()).isEqualTo(20);
+        assertThat(cache.contains(PageA.class)).isFalse();
+        assertThat(a.disposed).isTrue();
+    }
+
+    @Test
+    public void testRefusesAndDisposesPageOverNodeBudget() {
+        var cache = new PageCache(10, 5);
+        var a = new PageA(10);
+
+        assertThat(cache.put(a)).isFalse();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getTotalNodes()).isEqualTo(0);
+        assertThat(a.disposed).isTrue();
+    }
+
+    @Test
+    public void testRefusesAndDisposesNonCacheablePage() {
+        var cache = new PageCache(10, 1_000);
+        var page = new NonCacheablePage();
+
+        assertThat(cache.put(page)).isFalse();
+        assertThat(cache.contains(NonCacheablePage.class)).isFalse();
+        assertThat(page.disposed).isTrue();
+    }
+
+    @Test
+    public void testReplacesPageOfTheSameType() {
+        var cache = new PageCache(10, 1_000);
+        var first = new PageA(4);
+        var second = new PageA(2);
+
+        cache.put(first);
+        cache.put(second);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getTotalNodes()).isEqualTo(3);
+        assertThat(first.disposed).isTrue();
+        assertThat(cache.take(PageA.class)).isSameAs(second);
+    }
+
+    @Test
+    public void testClearDisposesAllPages() {
+        var cache = new PageCache(10, 1_000);
+        var a = new PageA(1);
+        var b = new PageB(1);
+        cache.put(a);
+        cache.put(b);
+
+        cache.clear();
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getTotalNodes()).isEqualTo(0);
+        assertThat(a.disposed).isTrue();
+        assertThat(b.disposed).isTrue();
+    }
+
+    @Test
+    public void testCountNodesIncludesNestedChildren() {
+        var inner = new Pane(new Region(), new Region());
+        var root = new Pane(inner, new Region());
+
+        assertThat(PageCache.countNodes(root)).isEqualTo(5);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private abstract static class TestPage implements Page {
+
+        private final Pane view = new Pane();
+        boolean disposed = false;
+
+        TestPage(int children) {
+            for (int i = 0; i < children; i++) {
+                view.getChildren().add(new Region());
+            }
+        }
+
+        @Override
+        public String getName() {
+            return getClass().getSimpleName();
+        }
+
+        @Override
+        public Pane getView() {
+            return view;
+        }
+
+        @Override
+        public boolean canDisplaySourceCode() {
+            return false;
+        }
+
+        @Override
+        public URI getJavadocUri() {
+            return null;
+        }
+
+        @Override
+        public Node getSnapshotTarget() {
+            return view;
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+
+    private static final class PageA extends TestPage {
+
+        PageA(int children) {
+            super(children);
+        }
+    }
+
+    private static final class PageB extends TestPage {
+
+        PageB(int children) {
+            super(children);
+        }
+    }
+
+    private static final class PageC extends TestPage {
+
+        PageC(int children) {
+            super(children);
+        }
+    }
+
+    private static final class NonCacheablePage extends TestPage {
+
+        NonCacheablePage() {
+            super(1);
+        }
+
+        @Override
+        public boolean canBeCached() {
+            return false;
+        }
+    }
+}
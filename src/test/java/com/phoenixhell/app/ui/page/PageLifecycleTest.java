@@ -0,0 +1,88 @@
+package com.phoenixhell.app.ui.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.phoenixhell.app.event.DefaultEventBus;
+import com.phoenixhell.app.event.DeliveryMode;
+import com.phoenixhell.app.event.Event;
+
+public class PageLifecycleTest {
+
+    private static final int NAVIGATIONS = 100;
+
+    private final DefaultEventBus bus = new DefaultEventBus();
+
+    @Test
+    public void testNavigationsLeaveSubscriberCountFlat() {
+        var pages = new ArrayList<PageLifecycle>();
+        for (int i = 0; i < 3; i++) {
+            var lifecycle = new PageLifecycle(new PageSubscriptions(bus), new PageTasks());
+            lifecycle.subscribe(TestEvent.class, e -> { });
+            lifecycle.subscribe(Event.class, e -> { }, DeliveryMode.SYNC);
+            pages.add(lifecycle);
+        }
+
+        int baseline = bus.getSubscriberCount();
+
+        // cached pages are attached and detached on every visit
+        for (int i = 0; i < NAVIGATIONS; i++) {
+            PageLifecycle page = pages.get(i % pages.size());
+            page.attach();
+            assertThat(bus.getSubscriberCount()).isEqualTo(baseline + 2);
+            page.detach();
+            assertThat(bus.getSubscriberCount()).isEqualTo(baseline);
+        }
+
+        pages.forEach(PageLifecycle::dispose);
+        assertThat(bus.getSubscriberCount()).isEqualTo(baseline);
+    }
+
+    @Test
+    public void testDetachedPageReceivesNothing() {
+        var received = new ArrayList<Event>();
+        var lifecycle = new PageLifecycle(new PageSubscriptions(bus), new PageTasks());
+        lifecycle.subscribe(TestEvent.class, received::add);
+
+        bus.publish(new TestEvent());
+        lifecycle.attach();
+        bus.publish(new TestEvent());
+        lifecycle.detach();
+        bus.publish(new TestEvent());
+
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    public void testDetachCancelsRunningTasks() throws InterruptedException {
+        var lifecycle = new PageLifecycle(new PageSubscriptions(bus), new PageTasks());
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+
+        lifecycle.attach();
+        lifecycle.getTasks().execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        started.await();
+        lifecycle.detach();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lifecycle.getTasks().getRunningCount()).isEqualTo(0);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    static class TestEvent extends Event {
+    }
+}
@@ -0,0 +1,134 @@
+package com.phoenixhell.app.ui.theme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CssDeclarationTokenizerTest {
+
+    @Test
+    public void testFormattedStylesheet() throws IOException {
+        var css = """
+                .root {
+                    -color-fg-default: #c9d1d9;
+                    -color-bg-default: #0d1117;
+                }
+                """;
+
+        assertThat(tokenize(css)).containsExactly(
+                "-color-fg-default=#c9d1d9",
+                "-color-bg-default=#0d1117"
+        );
+    }
+
+    @Test
+    public void testMinifiedStylesheet() throws IOException {
+        var css = ".root{-color-fg-default:#c9d1d9;-color-bg-default:#0d1117}.button{-fx-padding:4 8}";
+
+        assertThat(tokenize(css)).containsExactly(
+                "-color-fg-default=#c9d1d9",
+                "-color-bg-default=#0d1117",
+                "-fx-padding=4 8"
+        );
+    }
+
+    @Test
+    public void testComments() throws IOException {
+        var css = "/* header; a: b; */ .root { /* c: d; */ e: f; g: /* inline */ h; }/* i: j; */";
+
+        assertThat(tokenize(css)).containsExactly("e=f", "g=h");
+    }
+
+    @Test
+    public void testCommentAfterSlash() throws IOException {
+        // the second slash starts the comment
+        var css = ".root { a: b//* c; d: e; */; f: g; }";
+
+        assertThat(tokenize(css)).containsExactly("a=b/", "f=g");
+    }
+
+    @Test
+    public void testSlashInValue() throws IOException {
+        var css = ".root{-fx-font:12px/1.5 sans;a:b/;c:d/}";
+
+        assertThat(tokenize(css)).containsExactly("-fx-font=12px/1.5 sans", "a=b/", "c=d/");
+    }
+
+    @Test
+    public void testStrings() throws IOException {
+        var css = """
+                .root {
+                    a: "b; c } { d";
+                    e: 'f; g';
+                    h: "i \\" j; k";
+                    l: "/* not a comment */";
+                }
+                """;
+
+        assertThat(tokenize(css)).containsExactly(
+                "a=\"b; c } { d\"",
+                "e='f; g'",
+                "h=\"i \\\" j; k\"",
+                "l=\"/* not a comment */\""
+        );
+    }
+
+    @Test
+    public void testUrlWithSemicolons() throws IOException {
+        var css = ".root{-fx-background-image:url(data:image/png;base64,AAA=);a:url(\"b;c\");d:url(e{f})}";
+
+        assertThat(tokenize(css)).containsExactly(
+                "-fx-background-image=url(data:image/png;base64,AAA=)",
+                "a=url(\"b;c\")",
+                "d=url(e{f})"
+        );
+    }
+
+    @Test
+    public void testNestedMedia() throws IOException {
+        var css = """
+                @media (min-width: 600px) {
+                    .root { a: b; }
+                    @media (max-width: 900px) { .card { c: d } }
+                }
+                .root { e: f; }
+                """;
+
+        assertThat(tokenize(css)).containsExactly("a=b", "c=d", "e=f");
+    }
+
+    @Test
+    public void testAtRulesOutsideOfBlocksAreIgnored() throws IOException {
+        var css = "@import url(\"base.css\");@charset \"UTF-8\";.root{a:b}";
+
+        assertThat(tokenize(css)).containsExactly("a=b");
+    }
+
+    @Test
+    public void testLastDeclarationWithoutSemicolon() throws IOException {
+        assertThat(tokenize(".root { a: b; c: d }")).containsExactly("a=b", "c=d");
+    }
+
+    @Test
+    public void testEmptyAndInvalidDeclarations() throws IOException {
+        assertThat(tokenize(".root { ; a; :b; c:; d: e; }")).containsExactly("d=e");
+    }
+
+    @Test
+    public void testTruncatedInput() throws IOException {
+        assertThat(tokenize(".root { a: b; c: d /* unterminated")).containsExactly("a=b");
+        assertThat(tokenize(".root { a: b; c: \"unterminated")).containsExactly("a=b");
+        assertThat(tokenize(".root { a: b; /")).containsExactly("a=b");
+    }
+
+    private static List<String> tokenize(String css) throws IOException {
+        var result = new ArrayList<String>();
+        CssDeclarationTokenizer.tokenize(new StringReader(css), (property, value) -> result.add(property + "=" + value));
+        return result;
+    }
+}
@@ -0,0 +1,197 @@
+package com.phoenixhell.app.ui.theme;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.phoenixhell.app.FxToolkit;
+
+import javafx.css.PseudoClass;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.Pane;
+
+/**
+ * Compares the restyle time of the custom CSS applied as a generated stylesheet,
+ * as it was done before, and as the root inline style, per type of change.
+ * Timings are printed, the assertions only check that both ways resolve the
+ * same styles, so the test doesn't depend on the machine speed.
+ */
+@Tag("benchmark")
+public class CustomStyleRestyleTest {
+
+    private static final int NODES = 3_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 30;
+
+    private static final PseudoClass USER_CUSTOM = PseudoClass.getPseudoClass("user-custom");
+    private static final String[] COLORS = {
+            "-color-fg-default", "-color-fg-muted", "-color-bg-default", "-color-bg-subtle",
+            "-color-accent-fg", "-color-accent-emphasis", "-color-success-fg", "-color-danger-fg",
+            "-color-warning-fg", "-color-border-default"
+    };
+    private static final String BASE_CSS = ".root {" + String.join(": #808080;", COLORS) + ": #808080; }"
+            + ".label { -fx-text-fill: -color-fg-default; -fx-background-color: -color-bg-subtle; }";
+
+    @BeforeAll
+    public static void startToolkit() {
+        assumeTrue(FxToolkit.start(), "FX toolkit is not available");
+    }
+
+    @Test
+    public void testFontFamilyChange() throws Exception {
+        compare("font family", i -> Map.of("-fx-font-family", i % 2 == 0 ? "\"System\"" : "\"Monospaced\""), i -> Map.of());
+    }
+
+    @Test
+    public void testFontSizeChange() throws Exception {
+        compare("font size",
+                i -> Map.of("-fx-font-size", (12 + i % 4) + "px"),
+                i -> Map.of(".label", String.format("-fx-padding: %dpx;", i % 4)));
+    }
+
+    @Test
+    public void testNamedColorsChange() throws Exception {
+        compare("named colors", i -> {
+            var declarations = new LinkedHashMap<String, String>();
+            for (String color : COLORS) {
+                declarations.put(color, i % 2 == 0 ? "#ff0000" : "#0000ff");
+            }
+            return declarations;
+        }, i -> Map.of());
+    }
+
+    private void compare(String change,
+                         IntFunction<Map<String, String>> declarations,
+                         IntFunction<Map<String, String>> rules) throws Exception {
+        var stylesheet = FxToolkit.call(StylesheetRestyle::new);
+        var inline = FxToolkit.call(InlineRestyle::new);
+
+        long[] stylesheetNanos = FxToolkit.call(() -> stylesheet.run(declarations, rules));
+        long[] inlineNanos = FxToolkit.call(() -> inline.run(declarations, rules));
+
+        System.out.printf(Locale.ROOT, "Restyle of %d nodes on %s change (median / p90, ms): "
+                        + "stylesheet %.2f / %.2f, inline %.2f / %.2f%n",
+                NODES, change,
+                percentile(stylesheetNanos, 50), percentile(stylesheetNanos, 90),
+                percentile(inlineNanos, 50), percentile(inlineNanos, 90));
+
+        FxToolkit.call(() -> {
+            Label expected = stylesheet.lastLabel();
+            Label actual = inline.lastLabel();
+            assertThat(actual.getFont()).isEqualTo(expected.getFont());
+            assertThat(actual.getTextFill()).isEqualTo(expected.getTextFill());
+            assertThat(actual.getBackground()).isEqualTo(expected.getBackground());
+            assertThat(actual.getPadding()).isEqualTo(expected.getPadding());
+            return null;
+        });
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private abstract static class Restyle {
+
+        final Pane root = new FlowPane();
+
+        Restyle() {
+            root.getStyleClass().add("body");
+            root.getStylesheets().add(toDataUri(BASE_CSS));
+            for (int i = 0; i < NODES; i++) {
+                root.getChildren().add(new Label("Label " + i));
+            }
+            new Scene(root, 800, 600);
+        }
+
+        long[] run(IntFunction<Map<String, String>> declarations,
+                   IntFunction<Map<String, String>> rules) {
+            root.applyCss();
+
+            long[] nanos = new long[ROUNDS];
+            for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+                long start = System.nanoTime();
+                apply(declarations.apply(i), rules.apply(i));
+                root.applyCss();
+                if (i >= WARMUP_ROUNDS) {
+                    nanos[i - WARMUP_ROUNDS] = System.nanoTime() - start;
+                }
+            }
+            return nanos;
+        }
+
+        Label lastLabel() {
+            return (Label) root.getChildren().get(NODES - 1);
+        }
+
+        abstract void apply(Map<String, String> declarations, Map<String, String> rules);
+    }
+
+    // the way custom CSS was applied before, everything is regenerated on every change
+    private static final class StylesheetRestyle extends Restyle {
+
+        @Override
+        void apply(Map<String, String> declarations, Map<String, String> rules) {
+            var css = new StringBuilder(".root:user-custom {\n");
+            declarations.forEach((k, v) -> css.append("\t").append(k).append(": ").append(v).append(";\n"));
+            css.append("}\n");
+            css.append(CustomStyle.toRulesCss(rules, USER_CUSTOM.getPseudoClassName()));
+
+            root.getStylesheets().removeIf(uri -> uri.startsWith("data:text/css") && !uri.equals(toDataUri(BASE_CSS)));
+            root.getStylesheets().add(toDataUri(css.toString()));
+            root.pseudoClassStateChanged(USER_CUSTOM, true);
+        }
+    }
+
+    // the same way as ThemeManager.reloadCustomCSS()
+    private static final class InlineRestyle extends Restyle {
+
+        private Map<String, String> appliedDeclarations = Map.of();
+        private String appliedRulesCss = "";
+        private String rulesStylesheet;
+
+        @Override
+        void apply(Map<String, String> declarations, Map<String, String> rules) {
+            if (!declarations.equals(appliedDeclarations)) {
+                root.setStyle(CustomStyle.toInlineStyle(declarations));
+                appliedDeclarations = declarations;
+            }
+
+            String rulesCss = CustomStyle.toRulesCss(rules, USER_CUSTOM.getPseudoClassName());
+            if (!rulesCss.equals(appliedRulesCss)) {
+                if (rulesStylesheet != null) {
+                    root.getStylesheets().remove(rulesStylesheet);
+                    rulesStylesheet = null;
+                }
+                if (!rulesCss.isEmpty()) {
+                    rulesStylesheet = toDataUri(rulesCss);
+                    root.getStylesheets().add(rulesStylesheet);
+                }
+                appliedRulesCss = rulesCss;
+            }
+
+            root.pseudoClassStateChanged(USER_CUSTOM, true);
+        }
+    }
+
+    private static String toDataUri(String css) {
+        return "data:text/css;base64," + Base64.getEncoder().encodeToString(css.getBytes(UTF_8));
+    }
+}
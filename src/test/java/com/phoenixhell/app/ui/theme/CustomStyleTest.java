@@ -0,0 +1,61 @@
+package com.phoenixhell.app.ui.theme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class CustomStyleTest {
+
+    @Test
+    public void testInlineStyle() {
+        var declarations = new LinkedHashMap<String, String>();
+        declarations.put("-fx-font-family", "\"Inter\"");
+        declarations.put("-fx-font-size", "14px");
+
+        assertThat(CustomStyle.toInlineStyle(declarations)).isEqualTo("-fx-font-family:\"Inter\";-fx-font-size:14px;");
+        assertThat(CustomStyle.toInlineStyle(Map.of())).isEqualTo("");
+    }
+
+    @Test
+    public void testInlineStyleDoesNotGrowWhenValuesChange() {
+        var declarations = new LinkedHashMap<String, String>();
+        declarations.put("-color-accent-fg", "#ff0000");
+        declarations.put("-fx-font-size", "14px");
+        int length = CustomStyle.toInlineStyle(declarations).length();
+
+        for (int size = 10; size < 100; size++) {
+            declarations.put("-fx-font-size", size + "px");
+            declarations.put("-color-accent-fg", "#0000ff");
+
+            String style = CustomStyle.toInlineStyle(declarations);
+            assertThat(style).contains("-fx-font-size:" + size + "px;", "-color-accent-fg:#0000ff;");
+            assertThat(style.length()).isLessThanOrEqualTo(length + 1);
+        }
+    }
+
+    @Test
+    public void testRemovedDeclarationIsNotInlined() {
+        var declarations = new LinkedHashMap<String, String>();
+        declarations.put("-color-accent-fg", "#ff0000");
+        declarations.put("-fx-font-size", "14px");
+        declarations.remove("-color-accent-fg");
+
+        assertThat(CustomStyle.toInlineStyle(declarations)).isEqualTo("-fx-font-size:14px;");
+    }
+
+    @Test
+    public void testRulesCss() {
+        var rules = new LinkedHashMap<String, String>();
+        rules.put(".ikonli-font-icon", "-fx-icon-size: 16px;");
+        rules.put(".label", "-fx-text-fill: red;");
+
+        assertThat(CustomStyle.toRulesCss(rules, "user-custom")).isEqualTo("""
+                .body:user-custom .ikonli-font-icon {-fx-icon-size: 16px;}
+                .body:user-custom .label {-fx-text-fill: red;}
+                """);
+        assertThat(CustomStyle.toRulesCss(Map.of(), "user-custom")).isEqualTo("");
+    }
+}
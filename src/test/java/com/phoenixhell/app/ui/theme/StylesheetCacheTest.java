@@ -0,0 +1,194 @@
+package com.phoenixhell.app.ui.theme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StylesheetCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testCompile() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        String url = writeCss("theme.css", ".label { -fx-text-fill: red; }");
+
+        String compiled = cache.compile(url).join();
+
+        assertThat(compiled).endsWith(".bss");
+        assertThat(Paths.get(URI.create(compiled))).exists();
+        assertThat(cache.get(url)).isEqualTo(compiled);
+        assertThat(cache.getSource(compiled)).isEqualTo(url);
+        assertThat(cache.getSource(url)).isEqualTo(url);
+    }
+
+    @Test
+    public void testInvalidateDeletesPreviousVersion() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        String url = writeCss("theme.css", ".label { -fx-text-fill: red; }");
+        String previous = cache.compile(url).join();
+
+        writeCss("theme.css", ".label { -fx-text-fill: blue; }");
+        cache.invalidate(url);
+        String current = cache.compile(url).join();
+
+        assertThat(current).isNotEqualTo(previous);
+        assertThat(Paths.get(URI.create(previous))).doesNotExist();
+        assertThat(Paths.get(URI.create(current))).exists();
+        // the scene may still use the previous version
+        assertThat(cache.getSource(previous)).isEqualTo(url);
+    }
+
+    @Test
+    public void testInvalidateKeepsUnchangedVersion() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        String url = writeCss("theme.css", ".label { -fx-text-fill: red; }");
+        String previous = cache.compile(url).join();
+
+        cache.invalidate(url);
+        String current = cache.compile(url).join();
+
+        assertThat(current).isEqualTo(previous);
+        assertThat(Paths.get(URI.create(current))).exists();
+    }
+
+    @Test
+    public void testInvalidateKeepsVersionSharedWithOtherStylesheet() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        String first = writeCss("first.css", ".label { -fx-text-fill: red; }");
+        String second = writeCss("second.css", ".label { -fx-text-fill: red; }");
+        String compiled = cache.compile(first).join();
+        assertThat(cache.compile(second).join()).isEqualTo(compiled);
+
+        writeCss("first.css", ".label { -fx-text-fill: blue; }");
+        cache.invalidate(first);
+        cache.compile(first).join();
+
+        assertThat(Paths.get(URI.create(compiled))).exists();
+    }
+
+    @Test
+    public void testPruneDeletesExpiredAndTemporaryFiles() throws IOException {
+        Path cacheDir = Files.createDirectory(dir.resolve("cache"));
+        var cache = new StylesheetCache(cacheDir);
+
+        Path expired = Files.writeString(cacheDir.resolve("0000.bss"), "");
+        Files.setLastModifiedTime(expired, FileTime.from(
+                Instant.now().minus(StylesheetCache.MAX_AGE).minus(Duration.ofDays(1))));
+        Path recent = Files.writeString(cacheDir.resolve("1111.bss"), "");
+        Path temp = Files.writeString(cacheDir.resolve("stylesheet123.css"), "");
+
+        cache.pruneNow();
+
+        assertThat(expired).doesNotExist();
+        assertThat(temp).doesNotExist();
+        assertThat(recent).exists();
+    }
+
+    @Test
+    public void testUsedVersionIsNotPruned() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        String url = writeCss("theme.css", ".label { -fx-text-fill: red; }");
+        Path compiled = Paths.get(URI.create(cache.compile(url).join()));
+        Files.setLastModifiedTime(compiled, FileTime.from(
+                Instant.now().minus(StylesheetCache.MAX_AGE).minus(Duration.ofDays(1))));
+
+        // the next launch
+        var next = new StylesheetCache(dir.resolve("cache"));
+        next.compile(url).join();
+        next.pruneNow();
+
+        assertThat(compiled).exists();
+    }
+
+    @Test
+    public void testCompileFromJar() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        Path jar = dir.resolve("theme.jar");
+        try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("styles/theme.css"));
+            out.write(".label { -fx-text-fill: red; }".getBytes());
+            out.closeEntry();
+        }
+        String url = "jar:" + jar.toUri() + "!/styles/theme.css";
+
+        String compiled = cache.compile(url).join();
+
+        assertThat(compiled).endsWith(".bss");
+        assertThat(cache.getSource(compiled)).isEqualTo(url);
+    }
+
+    @Test
+    public void testResolveUrls() {
+        String css = """
+                .a { -fx-image: url("../images/a.png"); }
+                .b { -fx-image: url('b.png'); }
+                .c { -fx-image: url( c.png ); }
+                .d { -fx-image: url("data:image/png;base64,AAAA"); }
+                """;
+
+        assertThat(StylesheetCache.resolveUrls(css, "file:/app/styles/theme.css")).isEqualTo("""
+                .a { -fx-image: url("file:/app/images/a.png"); }
+                .b { -fx-image: url("file:/app/styles/b.png"); }
+                .c { -fx-image: url("file:/app/styles/c.png"); }
+                .d { -fx-image: url("data:image/png;base64,AAAA"); }
+                """);
+        assertThat(StylesheetCache.resolveUrls(css, "jar:file:/app/app.jar!/styles/theme.css")).isEqualTo("""
+                .a { -fx-image: url("jar:file:/app/app.jar!/images/a.png"); }
+                .b { -fx-image: url("jar:file:/app/app.jar!/styles/b.png"); }
+                .c { -fx-image: url("jar:file:/app/app.jar!/styles/c.png"); }
+                .d { -fx-image: url("data:image/png;base64,AAAA"); }
+                """);
+    }
+
+    @Test
+    public void testPutStylesheetReplacesOtherForm() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        String url = writeCss("theme.css", ".label { -fx-text-fill: red; }");
+        String compiled = cache.compile(url).join();
+
+        List<String> stylesheets = new ArrayList<>(List.of("first.css", url, "last.css"));
+        cache.putStylesheet(stylesheets, url);
+        assertThat(stylesheets).containsExactly("first.css", compiled, "last.css");
+
+        // the previous compiled version and a duplicate text form
+        writeCss("theme.css", ".label { -fx-text-fill: blue; }");
+        cache.invalidate(url);
+        String current = cache.compile(url).join();
+        stylesheets.add(url);
+        cache.putStylesheet(stylesheets, url);
+        assertThat(stylesheets).containsExactly("first.css", current, "last.css");
+    }
+
+    @Test
+    public void testPutStylesheetAddsMissing() throws IOException {
+        var cache = new StylesheetCache(dir.resolve("cache"));
+        String url = writeCss("theme.css", ".label { -fx-text-fill: red; }");
+        String compiled = cache.compile(url).join();
+
+        List<String> stylesheets = new ArrayList<>(List.of("first.css"));
+        cache.putStylesheet(stylesheets, url);
+        cache.putStylesheet(stylesheets, url);
+
+        assertThat(stylesheets).containsExactly("first.css", compiled);
+    }
+
+    private String writeCss(String fileName, String css) throws IOException {
+        return Files.writeString(dir.resolve(fileName), css).toUri().toString();
+    }
+}
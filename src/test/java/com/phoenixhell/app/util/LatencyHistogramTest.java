@@ -0,0 +1,171 @@
+package com.phoenixhell.app.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    // far above any bucket under test, so percentiles aren't capped by the max value
+    private static final long SLOW = 10_000_000_000L; // 10 s
+
+    @Test
+    public void testEmptyHistogram() {
+        var histogram = new LatencyHistogram();
+
+        assertThat(histogram.getCount()).isEqualTo(0L);
+        assertThat(histogram.getMeanNanos()).isEqualTo(0L);
+        assertThat(histogram.getMaxNanos()).isEqualTo(0L);
+        assertThat(histogram.getPercentileNanos(50)).isEqualTo(0L);
+    }
+
+    @Test
+    public void testCountTotalMeanAndMax() {
+        var histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(2_000);
+        histogram.record(6_000);
+
+        assertThat(histogram.getCount()).isEqualTo(3L);
+        assertThat(histogram.getTotalNanos()).isEqualTo(9_000L);
+        assertThat(histogram.getMeanNanos()).isEqualTo(3_000L);
+        assertThat(histogram.getMaxNanos()).isEqualTo(6_000L);
+    }
+
+    @Test
+    public void testNegativeValueIsRecordedAsZero() {
+        var histogram = new LatencyHistogram();
+        histogram.record(-5_000);
+
+        assertThat(histogram.getCount()).isEqualTo(1L);
+        assertThat(histogram.getTotalNanos()).isEqualTo(0L);
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(0L);
+    }
+
+    @Test
+    public void testBucketUpperBounds() {
+        // [value, expected upper bound of its bucket]
+        long[][] cases = {
+                { 0, 1_000 },           // below 1 µs
+                { 999, 1_000 },
+                { 1_000, 2_000 },       // [1, 2) µs
+                { 1_999, 2_000 },
+                { 2_000, 4_000 },       // [2, 4) µs
+                { 3_999, 4_000 },
+                { 4_000, 8_000 },       // [4, 8) µs
+                { 1_000_000, 1_024_000 }, // 1 ms is in [512, 1024) µs
+                { 1_024_000, 2_048_000 },
+        };
+
+        for (long[] c : cases) {
+            var histogram = new LatencyHistogram();
+            histogram.record(c[0]);
+            histogram.record(SLOW);
+
+            assertThat(histogram.getPercentileNanos(50)).as("value %d", c[0]).isEqualTo(c[1]);
+        }
+    }
+
+    @Test
+    public void testPercentileIsCappedByMaxValue() {
+        var histogram = new LatencyHistogram();
+        histogram.record(1_500);
+
+        // the bucket upper bound is 2 µs, but no value exceeded 1.5 µs
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(1_500L);
+    }
+
+    @Test
+    public void testLastBucketCollectsLargeValues() {
+        long lastUpperBound = (1L << 39) * 1_000;
+
+        var histogram = new LatencyHistogram();
+        histogram.record(lastUpperBound * 4);
+        histogram.record(lastUpperBound * 8);
+
+        // both values are in the last bucket, so the percentile is its upper bound
+        assertThat(histogram.getPercentileNanos(50)).isEqualTo(lastUpperBound);
+        assertThat(histogram.getMaxNanos()).isEqualTo(lastUpperBound * 8);
+    }
+
+    @Test
+    public void testPercentileThresholdIsRoundedUp() {
+        var histogram = new LatencyHistogram();
+        for (int i = 0; i < 9; i++) {
+            histogram.record(500); // below 1 µs
+        }
+        histogram.record(5_000_000); // 5 ms, in [4096, 8192) µs
+
+        // 90% of 10 values is exactly 9, all fast
+        assertThat(histogram.getPercentileNanos(90)).isEqualTo(1_000L);
+        // 91% of 10 values is 9.1, so the 10th value is needed
+        assertThat(histogram.getPercentileNanos(91)).isEqualTo(5_000_000L);
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(5_000_000L);
+    }
+
+    @Test
+    public void testPercentilesOfSpreadValues() {
+        var histogram = new LatencyHistogram();
+        // 1..100 µs, one value each
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        // 50th value is 50 µs, in [32, 64) µs
+        assertThat(histogram.getPercentileNanos(50)).isEqualTo(64_000L);
+        // 99th value is 99 µs, in [64, 128) µs, capped by the max of 100 µs
+        assertThat(histogram.getPercentileNanos(99)).isEqualTo(100_000L);
+        // 1st value is 1 µs, in [1, 2) µs
+        assertThat(histogram.getPercentileNanos(1)).isEqualTo(2_000L);
+    }
+
+    @Test
+    public void testInvalidPercentile() {
+        var histogram = new LatencyHistogram();
+
+        assertThatThrownBy(() -> histogram.getPercentileNanos(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> histogram.getPercentileNanos(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> histogram.getPercentileNanos(100.1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testReset() {
+        var histogram = new LatencyHistogram();
+        histogram.record(SLOW);
+        histogram.reset();
+        histogram.record(500);
+
+        assertThat(histogram.getCount()).isEqualTo(1L);
+        assertThat(histogram.getMaxNanos()).isEqualTo(500L);
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(500L);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        var histogram = new LatencyHistogram();
+        int threads = 4;
+        int perThread = 10_000;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            var thread = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(1_000);
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : workers) {
+            thread.join();
+        }
+
+        assertThat(histogram.getCount()).isEqualTo((long) threads * perThread);
+        assertThat(histogram.getTotalNanos()).isEqualTo((long) threads * perThread * 1_000);
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(1_000L);
+    }
+}